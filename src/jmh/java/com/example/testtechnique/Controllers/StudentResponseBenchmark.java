@@ -0,0 +1,75 @@
+package com.example.testtechnique.Controllers;
+
+import com.example.testtechnique.Controllers.dto.ApiResponse;
+import com.example.testtechnique.Controllers.dto.StudentResponse;
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body of GET /api/students with an exact count: entity-to-DTO mapping of one page,
+ * then Jackson serialization of the ApiResponse&lt;Page&lt;StudentResponse&gt;&gt; envelope.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentResponseBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private Page<Student> students;
+    private ApiResponse<Page<StudentResponse>> body;
+
+    @Setup
+    public void setUp() {
+        Level[] levels = Level.values();
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Student> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new Student((long) i + 1, "student" + i, levels[i % levels.length], now, now));
+        }
+        students = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.ASC, "id")), 50_000);
+        body = ApiResponse.success(students.map(StudentController::toResponse));
+    }
+
+    @Benchmark
+    public Page<StudentResponse> map() {
+        return students.map(StudentController::toResponse);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() {
+        return jsonMapper.writeValueAsBytes(ApiResponse.success(students.map(StudentController::toResponse)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.testtechnique.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and validation. With a claims cache of 0 every validation verifies the signature,
+ * which is the cost of the first request carrying a token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    @Param({"10000", "0"})
+    public int claimsCacheMaxSize;
+
+    private JwtUtil jwtUtil;
+    private UserDetails admin;
+    private String token;
+    private String statelessToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", claimsCacheMaxSize);
+
+        admin = User.builder()
+                .username("benchadmin")
+                .password("encodedPassword")
+                .authorities("ROLE_ADMIN")
+                .build();
+        token = jwtUtil.generateToken(admin);
+        statelessToken = jwtUtil.generateToken(admin, 1);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(admin);
+    }
+
+    @Benchmark
+    public String generateStatelessToken() {
+        return jwtUtil.generateToken(admin, 1);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, admin);
+    }
+
+    @Benchmark
+    public boolean validateStatelessToken() {
+        return jwtUtil.extractTokenVersion(statelessToken) != null
+                && !jwtUtil.extractAuthorities(statelessToken).isEmpty()
+                && jwtUtil.validateToken(statelessToken, admin);
+    }
+}
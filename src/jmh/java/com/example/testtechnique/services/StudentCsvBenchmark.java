@@ -0,0 +1,85 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV parsing behind the import endpoint and CSV rendering behind the export endpoint,
+ * per file of {@code rows} students, without the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentCsvBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private String csv;
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        Level[] levels = Level.values();
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        StringBuilder builder = new StringBuilder("username,level\n");
+        students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Level level = levels[i % levels.length];
+            String username = "student" + i;
+            // Every hundredth row is invalid, as in a real file with the odd typo
+            builder.append(username).append(',').append(i % 100 == 0 ? "UNKNOWN" : level.name()).append('\n');
+            students.add(new Student((long) i + 1, username, level, now, now));
+        }
+        csv = builder.toString();
+    }
+
+    @Benchmark
+    public long parseImport(Blackhole blackhole) throws IOException {
+        StudentCsvReader reader = new StudentCsvReader(new StringReader(csv));
+        reader.readHeader();
+        StudentCsvReader.Row row;
+        while ((row = reader.next()) != null) {
+            blackhole.consume(row);
+        }
+        return reader.getLinesRead();
+    }
+
+    @Benchmark
+    public void renderExport() throws IOException {
+        // Same writer stack as the export endpoint, so UTF-8 encoding is measured too
+        Writer writer = new BufferedWriter(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8));
+        StudentCsvWriter.writeHeader(writer);
+        for (Student student : students) {
+            StudentCsvWriter.writeRow(writer, student);
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.testtechnique.Controllers;
+
+import com.example.testtechnique.Controllers.dto.ApiResponse;
+import com.example.testtechnique.config.PasswordHashingRejectedException;
+import com.example.testtechnique.exceptions.DomainException;
+import com.example.testtechnique.exceptions.DuplicateUsernameException;
+import com.example.testtechnique.exceptions.InvalidStateException;
+import com.example.testtechnique.exceptions.ResourceNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the expected outcomes of service calls to ApiResponse errors, by exception type.
+ * Anything else is left to the default error handling (500).
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNotFound(ResourceNotFoundException e) {
+        return error(HttpStatus.NOT_FOUND, e);
+    }
+
+    @ExceptionHandler({DuplicateUsernameException.class, InvalidStateException.class})
+    public ResponseEntity<ApiResponse<Void>> handleConflict(DomainException e) {
+        return error(HttpStatus.CONFLICT, e);
+    }
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDomain(DomainException e) {
+        return error(HttpStatus.BAD_REQUEST, e);
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleHashingRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    private ResponseEntity<ApiResponse<Void>> error(HttpStatus status, DomainException e) {
+        return ResponseEntity.status(status).body(ApiResponse.error(e.getMessage()));
+    }
+}
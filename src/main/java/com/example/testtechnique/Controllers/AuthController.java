@@ -5,8 +5,10 @@ import com.example.testtechnique.Controllers.dto.LoginRequest;
 import com.example.testtechnique.Controllers.dto.LoginResponse;
 import com.example.testtechnique.Controllers.dto.RegisterRequest;
 import com.example.testtechnique.config.JwtUtil;
+import com.example.testtechnique.config.PasswordHashingRejectedException;
 import com.example.testtechnique.entities.Admin;
 import com.example.testtechnique.services.AdminService;
+import com.example.testtechnique.services.AdminTokenVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,6 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
@@ -39,6 +42,9 @@ public class AuthController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private AdminTokenVersionService tokenVersionService;
+
     @PostMapping("/login")
     @Operation(summary = "Login", description = "Authenticate admin and get JWT token")
     @ApiResponses(value = {
@@ -57,6 +63,11 @@ public class AuthController {
                     description = "Invalid request data",
                     content = @Content
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Too many concurrent authentication requests",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "500",
                     description = "Internal server error",
@@ -73,16 +84,35 @@ public class AuthController {
             );
 
             UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getUsername());
-            String token = jwtUtil.generateToken(userDetails);
+            String token = jwtUtil.generateToken(userDetails,
+                    tokenVersionService.currentVersion(userDetails.getUsername()));
 
             LoginResponse response = new LoginResponse(token, "Bearer", loginRequest.getUsername());
             return ResponseEntity.ok(ApiResponse.success("Login successful", response));
         } catch (Exception e) {
+            PasswordHashingRejectedException rejected = hashingRejection(e);
+            if (rejected != null) {
+                // Mapped to 503 with Retry-After by ApiExceptionHandler
+                throw rejected;
+            }
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Invalid credentials"));
         }
     }
 
+    /**
+     * The hashing executor's rejection, thrown directly or wrapped in an InternalAuthenticationServiceException
+     * (DaoAuthenticationProvider wraps failures while it handles an unknown username)
+     */
+    private static PasswordHashingRejectedException hashingRejection(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PasswordHashingRejectedException rejected) {
+                return rejected;
+            }
+        }
+        return null;
+    }
+
     @PostMapping("/register")
     @Operation(summary = "Register", description = "Register a new admin user")
     @ApiResponses(value = {
@@ -101,6 +131,11 @@ public class AuthController {
                     description = "Username already exists",
                     content = @Content
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Too many concurrent authentication requests",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "500",
                     description = "Internal server error",
@@ -108,22 +143,37 @@ public class AuthController {
             )
     })
     public ResponseEntity<ApiResponse<String>> register(@Valid @RequestBody RegisterRequest registerRequest) {
-        try {
-            if (adminService.existsByUsername(registerRequest.getUsername())) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                        .body(ApiResponse.error("Username already exists"));
-            }
-
-            adminService.registerAdmin(registerRequest.getUsername(), registerRequest.getPassword());
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success("Admin registered successfully", null));
-        } catch (RuntimeException e) {
+        if (adminService.existsByUsername(registerRequest.getUsername())) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(ApiResponse.error(e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("An error occurred during registration"));
+                    .body(ApiResponse.error("Username already exists"));
         }
+
+        adminService.registerAdmin(registerRequest.getUsername(), registerRequest.getPassword());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Admin registered successfully", null));
     }
-}
 
+    @PostMapping("/revoke")
+    @Operation(summary = "Revoke tokens", description = "Invalidate every token issued so far for the authenticated admin")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens revoked successfully",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<String>> revoke(Authentication authentication) {
+        adminService.revokeTokens(authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Tokens revoked successfully", null));
+    }
+}
@@ -1,11 +1,37 @@
 package com.example.testtechnique.Controllers;
 
 import com.example.testtechnique.Controllers.dto.ApiResponse;
+import com.example.testtechnique.Controllers.dto.CacheStatsResponse;
+import com.example.testtechnique.Controllers.dto.CursorPageResponse;
+import com.example.testtechnique.Controllers.dto.ImportJobResponse;
+import com.example.testtechnique.Controllers.dto.PageResponse;
+import com.example.testtechnique.Controllers.dto.StudentBatchRequest;
 import com.example.testtechnique.Controllers.dto.StudentRequest;
 import com.example.testtechnique.Controllers.dto.StudentResponse;
+import com.example.testtechnique.Controllers.dto.StudentStatsResponse;
+import com.example.testtechnique.Controllers.dto.UsernameFilterStatsResponse;
+import com.example.testtechnique.entities.ImportJob;
 import com.example.testtechnique.entities.Level;
 import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.services.BatchMode;
+import com.example.testtechnique.services.CountMode;
+import com.example.testtechnique.services.ImportJobService;
+import com.example.testtechnique.services.ImportResult;
+import com.example.testtechnique.services.StudentBatchOperation;
+import com.example.testtechnique.services.StudentBatchResult;
+import com.example.testtechnique.services.StudentBatchService;
+import com.example.testtechnique.services.StudentCache;
+import com.example.testtechnique.services.StudentCsvWriter;
+import com.example.testtechnique.services.StudentCursor;
+import com.example.testtechnique.services.StudentImportService;
 import com.example.testtechnique.services.StudentService;
+import com.example.testtechnique.services.StudentStats;
+import com.example.testtechnique.services.StudentStatsService;
+import com.example.testtechnique.services.StudentTableVersion;
+import com.example.testtechnique.services.UsernameFilters;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,16 +40,34 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,10 +76,38 @@ import java.util.stream.Collectors;
 @SecurityRequirement(name = "bearerAuth")
 public class StudentController {
 
+    // Clients may keep responses but must revalidate them with If-None-Match / If-Modified-Since
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final Counter EXPORTED_ROWS = Counter.builder("students.export.rows")
+            .register(Metrics.globalRegistry);
+
     @Autowired
     private StudentService studentService;
 
-    private StudentResponse toResponse(Student student) {
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private StudentBatchService studentBatchService;
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    @Autowired
+    private StudentCache studentCache;
+
+    @Autowired
+    private UsernameFilters usernameFilters;
+
+    @Value("${student.export.chunk-size:1000}")
+    private int exportChunkSize;
+
+    // Package-private for StudentResponseBenchmark (src/jmh/java)
+    static StudentResponse toResponse(Student student) {
         return new StudentResponse(
                 student.getId(),
                 student.getUsername(),
@@ -45,14 +117,52 @@ public class StudentController {
         );
     }
 
+    private ImportJobResponse toJobResponse(ImportJob job) {
+        long processed = job.getRowsImported() + job.getRowsSkipped() + job.getRowsFailed();
+        double rowsPerSecond = 0;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            rowsPerSecond = millis > 0 ? processed * 1000.0 / millis : 0;
+        }
+        return new ImportJobResponse(
+                job.getId(),
+                job.getFileName(),
+                job.getStatus(),
+                processed,
+                job.getRowsImported(),
+                job.getRowsSkipped(),
+                job.getRowsFailed(),
+                rowsPerSecond,
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+
     @GetMapping
-    @Operation(summary = "Get all students", description = "Get paginated list of all students with optional search and filter")
+    @Operation(summary = "Get all students", description = "Get paginated list of all students with optional search and filter. " +
+            "count=EXACT (default) returns a Page; count=NONE skips the total and count=APPROXIMATE serves it from a " +
+            "short-lived cache, both returning a PageResponse whose totalExact is false. " +
+            "fields=id,username,... selects only those columns and returns a PageResponse of objects with just those fields. " +
+            "Without sortBy, listings are ordered by id and FULLTEXT searches by relevance")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
                     description = "Students retrieved successfully",
                     content = @Content(schema = @Schema(implementation = Page.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the given ETag",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field requested",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized - Invalid or missing JWT token",
@@ -64,36 +174,221 @@ public class StudentController {
                     content = @Content
             )
     })
-    public ResponseEntity<ApiResponse<Page<StudentResponse>>> getAllStudents(
+    public ResponseEntity<ApiResponse<?>> getAllStudents(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Level level,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+
+        try {
+            // Any insert, update or delete changes the table version, so it stands in for every page's content.
+            // It is kept in memory, so a 304 costs no query; there is no date to validate If-Modified-Since against
+            StudentTableVersion version = studentService.getTableVersion();
+            String etag = "\"students-" + Integer.toHexString(Objects.hash(page, size, sortBy, direction, search, level, count, fields))
+                    + "-" + version.epoch() + "-" + version.version() + "\"";
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
+
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy != null ? sortBy : "id"));
+            ApiResponse<?> body;
+
+            if (fields != null && !fields.isBlank()) {
+                List<String> selected = Arrays.stream(fields.split(","))
+                        .map(String::trim)
+                        .filter(field -> !field.isEmpty())
+                        .distinct()
+                        .collect(Collectors.toList());
+                Slice<Map<String, Object>> rows = studentService.projectStudents(selected, search, level, pageable, count);
+                body = ApiResponse.success(toPageResponse(rows, count == CountMode.EXACT));
+            } else if (count == CountMode.NONE) {
+                Slice<Student> students = studentService.sliceStudents(search, level, pageable);
+                body = ApiResponse.success(toPageResponse(students.map(StudentController::toResponse), false));
+            } else if (count == CountMode.APPROXIMATE) {
+                Page<Student> students = studentService.pageStudentsApproximate(search, level, pageable);
+                body = ApiResponse.success(toPageResponse(students.map(StudentController::toResponse), false));
+            } else {
+                Page<Student> students;
+
+                // Without sortBy, a full-text search is left unsorted so it comes back by relevance
+                Pageable searchPageable = sortBy == null && search != null && studentService.ranksByRelevance(search)
+                        ? PageRequest.of(page, size) : pageable;
+                if (search != null && !search.isEmpty() && level != null) {
+                    students = studentService.searchAndFilterStudents(search, level, searchPageable);
+                } else if (search != null && !search.isEmpty()) {
+                    students = studentService.searchStudents(search, searchPageable);
+                } else if (level != null) {
+                    students = studentService.filterStudentsByLevel(level, pageable);
+                } else {
+                    students = studentService.getAllStudents(pageable);
+                }
+
+                Page<StudentResponse> response = students.map(StudentController::toResponse);
+                body = ApiResponse.success(response);
+            }
+
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving students: " + e.getMessage()));
+        }
+    }
+
+    private <T> PageResponse<T> toPageResponse(Slice<T> slice, boolean totalExact) {
+        Long totalElements = null;
+        Integer totalPages = null;
+        if (slice instanceof Page<T> page) {
+            totalElements = page.getTotalElements();
+            totalPages = page.getTotalPages();
+        }
+        return new PageResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+                totalElements, totalPages, totalExact);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll students", description = "Cursor-paginated list of students with optional search and filter; " +
+            "pass the next or prev cursor from a previous response to move between pages")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Students retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or unsupported sort",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<CursorPageResponse<StudentResponse>>> scrollStudents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "ASC") Sort.Direction direction,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Level level) {
 
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-            Page<Student> students;
-
-            if (search != null && !search.isEmpty() && level != null) {
-                students = studentService.searchAndFilterStudents(search, level, pageable);
-            } else if (search != null && !search.isEmpty()) {
-                students = studentService.searchStudents(search, pageable);
-            } else if (level != null) {
-                students = studentService.filterStudentsByLevel(level, pageable);
-            } else {
-                students = studentService.getAllStudents(pageable);
+            StudentCursor current = cursor != null && !cursor.isEmpty() ? StudentCursor.decode(cursor) : null;
+            Window<Student> window = studentService.scrollStudents(search, level, sortBy, direction, current, size);
+
+            // A backward window's hasNext() refers to rows before it
+            boolean backward = current != null && current.backward();
+            String next = null;
+            String prev = null;
+            if (!window.isEmpty()) {
+                if (backward || window.hasNext()) {
+                    next = StudentCursor.at(window.positionAt(window.size() - 1), sortBy, direction, false).encode();
+                }
+                if (backward ? window.hasNext() : current != null) {
+                    prev = StudentCursor.at(window.positionAt(0), sortBy, direction, true).encode();
+                }
             }
 
-            Page<StudentResponse> response = students.map(this::toResponse);
-            return ResponseEntity.ok(ApiResponse.success(response));
+            List<StudentResponse> content = window.getContent().stream()
+                    .map(StudentController::toResponse)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(ApiResponse.success(new CursorPageResponse<>(content, content.size(), next, prev)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error retrieving students: " + e.getMessage()));
         }
     }
 
+    @GetMapping("/stats")
+    @Operation(summary = "Get student statistics", description = "Totals per level and recent creations, served from in-memory counters")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = StudentStatsResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<StudentStatsResponse>> getStudentStats() {
+        StudentStats stats = studentStatsService.getStats();
+        return ResponseEntity.ok(ApiResponse.success(new StudentStatsResponse(
+                stats.total(),
+                stats.byLevel(),
+                stats.createdLastHour(),
+                stats.createdLast24Hours(),
+                stats.reconciledAt()
+        )));
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get student cache statistics", description = "Hit ratio, evictions and size of the student-by-id cache")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Cache statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CacheStatsResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<CacheStatsResponse>> getStudentCacheStats() {
+        CacheStats stats = studentCache.stats();
+        return ResponseEntity.ok(ApiResponse.success(new CacheStatsResponse(
+                studentCache.size(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        )));
+    }
+
+    @GetMapping("/username-filter/stats")
+    @Operation(summary = "Get username filter statistics",
+            description = "Memory footprint, expected, estimated and observed false-positive rates and skipped " +
+                    "existence queries of the student and admin username Bloom filters")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Filter statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = UsernameFilterStatsResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<UsernameFilterStatsResponse>> getUsernameFilterStats() {
+        return ResponseEntity.ok(ApiResponse.success(new UsernameFilterStatsResponse(
+                usernameFilters.students().stats(),
+                usernameFilters.admins().stats()
+        )));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get student by ID", description = "Get a specific student by their ID")
     @ApiResponses(value = {
@@ -102,6 +397,11 @@ public class StudentController {
                     description = "Student found",
                     content = @Content(schema = @Schema(implementation = StudentResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the given ETag or date",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Student not found",
@@ -118,12 +418,24 @@ public class StudentController {
                     content = @Content
             )
     })
-    public ResponseEntity<ApiResponse<StudentResponse>> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<StudentResponse>> getStudentById(@PathVariable Long id, WebRequest webRequest) {
         try {
-            return studentService.getStudentById(id)
-                    .map(student -> ResponseEntity.ok(ApiResponse.success(toResponse(student))))
-                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
-                            .body(ApiResponse.error("Student not found with id: " + id)));
+            Optional<Student> found = studentService.getStudentById(id);
+            if (found.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Student not found with id: " + id));
+            }
+
+            // Usually a cache hit, so a matching ETag is answered without touching the database or serializing
+            Student student = found.get();
+            long lastModified = student.getUpdatedAt() != null
+                    ? student.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : -1;
+            String etag = "\"student-" + student.getId() + "-" + lastModified + "\"";
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+            }
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(toResponse(student)));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error retrieving student: " + e.getMessage()));
@@ -160,24 +472,64 @@ public class StudentController {
             )
     })
     public ResponseEntity<ApiResponse<StudentResponse>> createStudent(@Valid @RequestBody StudentRequest request) {
+        Student student = new Student();
+        student.setUsername(request.getUsername());
+        student.setLevel(request.getLevel());
+
+        Student created = studentService.createStudent(student);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Student created successfully", toResponse(created)));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Batch create, update and delete students",
+            description = "Apply a list of CREATE, UPDATE and DELETE operations in one transaction. " +
+                    "mode=ALL_OR_NOTHING (default) rolls everything back if any operation fails; " +
+                    "mode=BEST_EFFORT commits the operations that succeeded. Each result carries the status " +
+                    "the single-item endpoint would have returned")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch committed; see the per-operation results",
+                    content = @Content(schema = @Schema(implementation = StudentBatchResult.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid batch, or an operation failed and the batch was rolled back",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<StudentBatchResult>> batchStudents(@Valid @RequestBody StudentBatchRequest request) {
         try {
-            Student student = new Student();
-            student.setUsername(request.getUsername());
-            student.setLevel(request.getLevel());
-
-            Student created = studentService.createStudent(student);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success("Student created successfully", toResponse(created)));
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("already exists")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                        .body(ApiResponse.error(e.getMessage()));
+            List<StudentBatchOperation> operations = request.getOperations().stream()
+                    .map(operation -> new StudentBatchOperation(operation.getType(), operation.getId(),
+                            operation.getUsername(), operation.getLevel()))
+                    .collect(Collectors.toList());
+            BatchMode mode = request.getMode() != null ? request.getMode() : BatchMode.ALL_OR_NOTHING;
+
+            StudentBatchResult result = studentBatchService.execute(operations, mode);
+            if (!result.committed()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponse<>(false, "Batch rolled back: " + result.failed() + " operations failed", result));
             }
+            return ResponseEntity.ok(ApiResponse.success(
+                    result.succeeded() + " of " + result.results().size() + " operations applied", result));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Error creating student: " + e.getMessage()));
+                    .body(ApiResponse.error("Error applying batch: " + e.getMessage()));
         }
     }
 
@@ -218,28 +570,12 @@ public class StudentController {
     public ResponseEntity<ApiResponse<StudentResponse>> updateStudent(
             @PathVariable Long id,
             @Valid @RequestBody StudentRequest request) {
-        try {
-            Student student = new Student();
-            student.setUsername(request.getUsername());
-            student.setLevel(request.getLevel());
-
-            Student updated = studentService.updateStudent(id, student);
-            return ResponseEntity.ok(ApiResponse.success("Student updated successfully", toResponse(updated)));
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error(e.getMessage()));
-            }
-            if (e.getMessage().contains("already exists")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                        .body(ApiResponse.error(e.getMessage()));
-            }
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(ApiResponse.error(e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Error updating student: " + e.getMessage()));
-        }
+        Student student = new Student();
+        student.setUsername(request.getUsername());
+        student.setLevel(request.getLevel());
+
+        Student updated = studentService.updateStudent(id, student);
+        return ResponseEntity.ok(ApiResponse.success("Student updated successfully", toResponse(updated)));
     }
 
     @DeleteMapping("/{id}")
@@ -267,20 +603,8 @@ public class StudentController {
             )
     })
     public ResponseEntity<ApiResponse<String>> deleteStudent(@PathVariable Long id) {
-        try {
-            studentService.deleteStudent(id);
-            return ResponseEntity.ok(ApiResponse.success("Student deleted successfully", null));
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error(e.getMessage()));
-            }
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(ApiResponse.error(e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Error deleting student: " + e.getMessage()));
-        }
+        studentService.deleteStudent(id);
+        return ResponseEntity.ok(ApiResponse.success("Student deleted successfully", null));
     }
 
     @GetMapping("/export")
@@ -302,28 +626,30 @@ public class StudentController {
                     content = @Content
             )
     })
-    public ResponseEntity<String> exportStudents() {
-        try {
-            List<Student> students = studentService.getAllStudentsForExport();
-            StringBuilder csv = new StringBuilder();
-            csv.append("ID,Username,Level,Created At,Updated At\n");
-
-            for (Student student : students) {
-                csv.append(student.getId()).append(",")
-                        .append(student.getUsername()).append(",")
-                        .append(student.getLevel()).append(",")
-                        .append(student.getCreatedAt()).append(",")
-                        .append(student.getUpdatedAt()).append("\n");
-            }
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            StudentCsvWriter.writeHeader(writer);
 
-            return ResponseEntity.ok()
-                    .header("Content-Type", "text/csv")
-                    .header("Content-Disposition", "attachment; filename=students.csv")
-                    .body(csv.toString());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error exporting students: " + e.getMessage());
-        }
+            long lastId = 0L;
+            List<Student> chunk;
+            do {
+                chunk = studentService.getStudentsForExport(lastId, exportChunkSize);
+                for (Student student : chunk) {
+                    StudentCsvWriter.writeRow(writer, student);
+                }
+                EXPORTED_ROWS.increment(chunk.size());
+                if (!chunk.isEmpty()) {
+                    lastId = chunk.get(chunk.size() - 1).getId();
+                }
+                writer.flush();
+            } while (chunk.size() == exportChunkSize);
+        };
+
+        return ResponseEntity.ok()
+                .header("Content-Type", "text/csv")
+                .header("Content-Disposition", "attachment; filename=students.csv")
+                .body(body);
     }
 
     @PostMapping("/import")
@@ -357,54 +683,116 @@ public class StudentController {
                         .body(ApiResponse.error("File is empty"));
             }
 
-            String content = new String(file.getBytes());
-            String[] lines = content.split("\n");
-
-            if (lines.length < 2) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponse.error("Invalid CSV format"));
-            }
-
-            int imported = 0;
-            int skipped = 0;
-
-            // Skip header line
-            for (int i = 1; i < lines.length; i++) {
-                String line = lines[i].trim();
-                if (line.isEmpty()) continue;
-
-                String[] parts = line.split(",");
-                if (parts.length >= 2) {
-                    try {
-                        String username = parts[0].trim();
-                        Level level = Level.valueOf(parts[1].trim().toUpperCase());
-
-                        // Try to create student - service will handle duplicate check
-                        try {
-                            Student student = new Student();
-                            student.setUsername(username);
-                            student.setLevel(level);
-                            studentService.createStudent(student);
-                            imported++;
-                        } catch (RuntimeException e) {
-                            if (e.getMessage().contains("already exists")) {
-                                skipped++;
-                            } else {
-                                throw e;
-                            }
-                        }
-                    } catch (Exception e) {
-                        skipped++;
-                    }
-                }
+            ImportResult result;
+            try (InputStream inputStream = file.getInputStream()) {
+                result = studentImportService.importStudents(inputStream);
             }
 
             return ResponseEntity.ok(ApiResponse.success(
-                    String.format("Import completed: %d imported, %d skipped", imported, skipped), null));
+                    String.format("Import completed: %d imported, %d skipped",
+                            result.getImported(), result.getSkipped() + result.getFailed()), null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Error importing students: " + e.getMessage()));
         }
     }
-}
 
+    @PostMapping(value = "/import", params = "async=true")
+    @Operation(summary = "Submit import job", description = "Queue a CSV import as a background job and return its id")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Import job accepted",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "File is empty",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<ImportJobResponse>> submitImportJob(@RequestParam("file") MultipartFile file) {
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error("File is empty"));
+            }
+
+            ImportJob job = importJobService.submit(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Import job accepted", toJobResponse(job)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error submitting import job: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get import job", description = "Progress and throughput of a background import job")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Import job found",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Import job not found",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<ImportJobResponse>> getImportJob(@PathVariable String jobId) {
+        return importJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(ApiResponse.success(toJobResponse(job))))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Import job not found with id: " + jobId)));
+    }
+
+    @PostMapping("/import/{jobId}/resume")
+    @Operation(summary = "Resume import job", description = "Restart a failed import job after its last committed chunk")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Import job queued again",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Import job not found",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Import job has not failed",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<ImportJobResponse>> resumeImportJob(@PathVariable String jobId) {
+        ImportJob job = importJobService.resume(jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Import job resumed", toJobResponse(job)));
+    }
+}
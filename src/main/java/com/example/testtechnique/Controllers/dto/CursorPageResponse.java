@@ -0,0 +1,18 @@
+package com.example.testtechnique.Controllers.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    // Opaque cursors for the following/preceding page, null when there is none
+    private String next;
+    private String prev;
+}
@@ -0,0 +1,26 @@
+package com.example.testtechnique.Controllers.dto;
+
+import com.example.testtechnique.entities.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+    private String id;
+    private String fileName;
+    private ImportJobStatus status;
+    private long rowsProcessed;
+    private long rowsImported;
+    private long rowsSkipped;
+    private long rowsFailed;
+    private double rowsPerSecond;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
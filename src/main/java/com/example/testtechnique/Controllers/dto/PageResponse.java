@@ -0,0 +1,22 @@
+package com.example.testtechnique.Controllers.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    // Null when the total was not counted
+    private Long totalElements;
+    private Integer totalPages;
+    // False when totalElements is absent or served from the count cache
+    private boolean totalExact;
+}
@@ -0,0 +1,40 @@
+package com.example.testtechnique.Controllers.dto;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.services.BatchMode;
+import com.example.testtechnique.services.StudentBatchOperation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentBatchRequest {
+
+    private BatchMode mode = BatchMode.ALL_OR_NOTHING;
+
+    @NotEmpty(message = "At least one operation is required")
+    private List<@Valid Operation> operations;
+
+    // Username and level are validated per operation by the service, so best-effort batches report them item by item
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+
+        @NotNull(message = "Operation type is required")
+        private StudentBatchOperation.Type type;
+
+        private Long id;
+
+        private String username;
+
+        private Level level;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.testtechnique.Controllers.dto;
+
+import com.example.testtechnique.entities.Level;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentStatsResponse {
+    private long total;
+    private Map<Level, Long> byLevel;
+    private long createdLastHour;
+    private long createdLast24Hours;
+    // Last time the counters were checked against the database
+    private LocalDateTime reconciledAt;
+}
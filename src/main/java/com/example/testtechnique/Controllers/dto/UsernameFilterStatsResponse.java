@@ -0,0 +1,14 @@
+package com.example.testtechnique.Controllers.dto;
+
+import com.example.testtechnique.services.UsernameFilterStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsernameFilterStatsResponse {
+    private UsernameFilterStats students;
+    private UsernameFilterStats admins;
+}
@@ -0,0 +1,82 @@
+package com.example.testtechnique.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+
+/**
+ * Creates the FULLTEXT ngram index on students.username used by the FULLTEXT search mode.
+ * Hibernate's schema update cannot declare it, so it is added here when missing.
+ * The index is built with innodb_ft_enable_stopword off: with the default stopword list the
+ * ngram parser drops every token containing "a" or "i", so a search such as "alice" would miss rows.
+ */
+@Component
+@ConditionalOnProperty(name = "student.search.mode", havingValue = "FULLTEXT")
+public class FullTextIndexInitializer {
+
+    static final String INDEX_NAME = "ft_students_username_nostop";
+
+    // Built with the server's stopword list; replaced by INDEX_NAME
+    static final String STOPWORD_INDEX_NAME = "ft_students_username";
+
+    private static final Logger log = LoggerFactory.getLogger(FullTextIndexInitializer.class);
+
+    // Injected so the students table exists before the index is added
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void createIndex() {
+        if (indexExists(INDEX_NAME)) {
+            return;
+        }
+        try {
+            log.info("Creating FULLTEXT index {} on students.username", INDEX_NAME);
+            // The stopword setting is read from the session when the index is created, then kept by the index
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET SESSION innodb_ft_enable_stopword = OFF");
+                    try {
+                        statement.execute("ALTER TABLE students ADD FULLTEXT INDEX " + INDEX_NAME
+                                + " (username) WITH PARSER ngram");
+                    } finally {
+                        statement.execute("SET SESSION innodb_ft_enable_stopword = DEFAULT");
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            // Another node may have created it at the same time
+            log.warn("Could not create FULLTEXT index {}: {}", INDEX_NAME, e.getMessage());
+            return;
+        }
+        if (indexExists(STOPWORD_INDEX_NAME)) {
+            try {
+                log.info("Dropping FULLTEXT index {} built with stopwords", STOPWORD_INDEX_NAME);
+                jdbcTemplate.execute("ALTER TABLE students DROP INDEX " + STOPWORD_INDEX_NAME);
+            } catch (DataAccessException e) {
+                log.warn("Could not drop FULLTEXT index {}: {}", STOPWORD_INDEX_NAME, e.getMessage());
+            }
+        }
+    }
+
+    private boolean indexExists(String indexName) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'students' AND index_name = ?",
+                Integer.class, indexName);
+        return existing != null && existing > 0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.testtechnique.config;
+
+import com.example.testtechnique.entities.IdSequences;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure every id_sequences row starts past the ids already in its table,
+ * so rows created while ids were IDENTITY-generated keep their ids and are never reused.
+ * Only ever moves next_val forward, so it is safe to run on several nodes at once.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    // Injected so the schema (including id_sequences) exists before seeding
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void seedSequences() {
+        seed(IdSequences.STUDENTS, "students");
+        seed(IdSequences.ADMINS, "admins");
+    }
+
+    private void seed(String sequenceName, String table) {
+        String firstFreeId = "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + ")";
+        try {
+            jdbcTemplate.update("INSERT INTO " + IdSequences.TABLE
+                    + " (" + IdSequences.NAME_COLUMN + ", " + IdSequences.VALUE_COLUMN + ")"
+                    + " SELECT ?, " + firstFreeId + " FROM (SELECT 1) seed"
+                    + " WHERE NOT EXISTS (SELECT 1 FROM " + IdSequences.TABLE
+                    + " WHERE " + IdSequences.NAME_COLUMN + " = ?)", sequenceName, sequenceName);
+        } catch (DuplicateKeyException e) {
+            // Another node created the row first
+        }
+        jdbcTemplate.update("UPDATE " + IdSequences.TABLE
+                + " SET " + IdSequences.VALUE_COLUMN + " = GREATEST(" + IdSequences.VALUE_COLUMN + ", " + firstFreeId + ")"
+                + " WHERE " + IdSequences.NAME_COLUMN + " = ?", sequenceName);
+    }
+}
@@ -1,30 +1,98 @@
 package com.example.testtechnique.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
+    public static final String AUTHORITIES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    // Signature verification on claims-cache misses, and token signing
+    private static final Timer PARSE_TIMER = Timer.builder("jwt.operations")
+            .tag("operation", "parse")
+            .register(Metrics.globalRegistry);
+    private static final Timer SIGN_TIMER = Timer.builder("jwt.operations")
+            .tag("operation", "sign")
+            .register(Metrics.globalRegistry);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // Default 24 hours
     private Long expiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    // Issue and expiry times; replaced in tests
+    private Clock clock = Clock.systemUTC();
+
+    // Built lazily from the secret, then reused: both are immutable and thread-safe
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+
+    // Verified claims keyed by the token's SHA-256 digest; an entry is only valid until the token's exp
+    private final Map<String, VerifiedClaims> claimsCache = new ConcurrentHashMap<>();
+
     private SecretKey getSigningKey() {
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = createSigningKey();
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .setClock(() -> new Date(clock.millis()))
+                    .build();
+            jwtParser = parser;
+        }
+        return parser;
+    }
+
+    private SecretKey createSigningKey() {
         // Decode hex string to bytes if it's a hex string, otherwise use as-is
         byte[] keyBytes;
         if (secret.length() == 64 && secret.matches("[0-9A-Fa-f]+")) {
@@ -48,28 +116,80 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return extractVerifiedClaims(token).subject();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return new Date(extractVerifiedClaims(token).expiresAt());
+    }
+
+    /**
+     * Authorities embedded by {@link #generateToken(UserDetails, int)}, or null for tokens without them
+     */
+    public List<String> extractAuthorities(String token) {
+        return extractVerifiedClaims(token).authorities();
     }
 
+    /**
+     * Admin token version embedded by {@link #generateToken(UserDetails, int)}, or null for tokens without one
+     */
+    public Integer extractTokenVersion(String token) {
+        return extractVerifiedClaims(token).tokenVersion();
+    }
+
+    /**
+     * Resolve a claim from the verified token; the resolver gets its own copy of the claims
+     */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(Jwts.claims(extractVerifiedClaims(token).values()));
+    }
+
+    private VerifiedClaims extractVerifiedClaims(String token) {
+        String key = digest(token);
+        VerifiedClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(clock.millis())) {
+                return cached;
+            }
+            // Past exp: drop it and let the parser raise ExpiredJwtException as before
+            claimsCache.remove(key, cached);
+        }
+
+        Claims claims = PARSE_TIMER.record(() -> getParser().parseClaimsJws(token).getBody());
+        VerifiedClaims verified = VerifiedClaims.of(claims);
+        cacheClaims(key, verified);
+        return verified;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private void cacheClaims(String key, VerifiedClaims claims) {
+        if (claims.expiresAt() == Long.MAX_VALUE) {
+            return;
+        }
+        if (claimsCache.size() >= claimsCacheMaxSize) {
+            evictExpiredClaims();
+            if (claimsCache.size() >= claimsCacheMaxSize) {
+                return;
+            }
+        }
+        claimsCache.put(key, claims);
+    }
+
+    /**
+     * Remove claims of tokens whose exp has passed
+     */
+    @Scheduled(fixedDelayString = "${jwt.claims-cache.sweep-interval-ms:60000}")
+    public void evictExpiredClaims() {
+        long now = clock.millis();
+        claimsCache.values().removeIf(claims -> claims.isExpired(now));
+    }
+
+    private String digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
     }
 
     private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return extractExpiration(token).before(new Date(clock.millis()));
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -77,19 +197,58 @@ public class JwtUtil {
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Token carrying the admin's authorities and token version, so requests can be
+     * authorized from the token alone
+     */
+    public String generateToken(UserDetails userDetails, int tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+        claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
+        return createToken(claims, userDetails.getUsername());
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        long now = clock.millis();
+        return SIGN_TIMER.record(() -> Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .compact());
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
-}
 
+    /**
+     * Immutable snapshot of a token's verified claims, shared by every request carrying the token.
+     * The fields read per request are extracted once; values keeps the full set for extractClaim.
+     */
+    private record VerifiedClaims(Map<String, Object> values, String subject, long expiresAt,
+                                  List<String> authorities, Integer tokenVersion) {
+
+        static VerifiedClaims of(Claims claims) {
+            Map<String, Object> values = new HashMap<>();
+            claims.forEach((name, value) -> values.put(name,
+                    value instanceof Collection<?> items ? Collections.unmodifiableList(new ArrayList<>(items)) : value));
+            Object roles = claims.get(AUTHORITIES_CLAIM);
+            List<String> authorities = roles instanceof Collection<?> items
+                    ? items.stream().map(String::valueOf).toList()
+                    : null;
+            Date expiration = claims.getExpiration();
+            return new VerifiedClaims(Collections.unmodifiableMap(values), claims.getSubject(),
+                    expiration == null ? Long.MAX_VALUE : expiration.getTime(), authorities,
+                    claims.get(TOKEN_VERSION_CLAIM, Integer.class));
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.testtechnique.config;
+
+import com.example.testtechnique.services.AdminUserDetailsService;
+import com.example.testtechnique.services.StudentCache;
+import com.example.testtechnique.services.StudentService;
+import com.example.testtechnique.services.UsernameFilter;
+import com.example.testtechnique.services.UsernameFilters;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Service-layer metrics. Repository queries are timed by Spring Data (spring.data.repository.invocations),
+ * Hikari pools and HTTP requests by Spring Boot; classes timed inline (JwtUtil, CSV import/export) register
+ * on Metrics.globalRegistry, which Boot links to its registry. Tags stay low-cardinality: names, never ids or usernames.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times every StudentService call, around its transaction. Infrastructure role, so it is applied
+     * by the auto-proxy creator whether or not AspectJ is on the classpath.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor studentServiceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        MethodInterceptor timing = invocation -> {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return invocation.proceed();
+            }
+            Timer.Sample sample = Timer.start(registry);
+            String exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                sample.stop(Timer.builder("students.service")
+                        .description("StudentService call latency")
+                        .tag("method", invocation.getMethod().getName())
+                        .tag("exception", exception)
+                        .register(registry));
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(new RootClassFilter(StudentService.class)), timing);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public MeterBinder studentCacheMetrics(StudentCache studentCache) {
+        return registry -> {
+            Gauge.builder("students.cache.size", studentCache, StudentCache::size)
+                    .description("Entries in the student-by-id cache")
+                    .register(registry);
+            FunctionCounter.builder("students.cache.requests", studentCache, cache -> cache.stats().hitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("students.cache.requests", studentCache, cache -> cache.stats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("students.cache.evictions", studentCache, cache -> cache.stats().evictionCount())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder adminUserDetailsCacheMetrics(AdminUserDetailsService userDetailsService) {
+        return registry -> {
+            FunctionCounter.builder("admin.userdetails.cache.requests", userDetailsService,
+                            service -> service.cacheStats().hitCount())
+                    .description("Admin lookups during authentication, by whether the user-details cache answered")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("admin.userdetails.cache.requests", userDetailsService,
+                            service -> service.cacheStats().missCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("admin.userdetails.cache.evictions", userDetailsService,
+                            service -> service.cacheStats().evictionCount())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder usernameFilterMetrics(UsernameFilters usernameFilters) {
+        return registry -> {
+            bindUsernameFilter(registry, "students", usernameFilters.students());
+            bindUsernameFilter(registry, "admins", usernameFilters.admins());
+        };
+    }
+
+    private static void bindUsernameFilter(MeterRegistry registry, String table, UsernameFilter filter) {
+        gauge(registry, "username.filter.memory", table, filter, f -> f.stats().memoryBytes(), "bytes");
+        gauge(registry, "username.filter.fpp.expected", table, filter, f -> f.stats().expectedFpp(), null);
+        gauge(registry, "username.filter.fpp.estimated", table, filter, f -> f.stats().estimatedFpp(), null);
+        gauge(registry, "username.filter.fpp.observed", table, filter, f -> f.stats().observedFpp(), null);
+        FunctionCounter.builder("username.filter.lookups", filter, f -> f.stats().skippedLookups())
+                .description("Existence queries, by whether the filter let them be skipped")
+                .tag("table", table)
+                .tag("result", "skipped")
+                .register(registry);
+        FunctionCounter.builder("username.filter.lookups", filter, f -> f.stats().lookups())
+                .tag("table", table)
+                .tag("result", "queried")
+                .register(registry);
+        FunctionCounter.builder("username.filter.false.positives", filter, f -> f.stats().falsePositives())
+                .tag("table", table)
+                .register(registry);
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String table, UsernameFilter filter,
+                              ToDoubleFunction<UsernameFilter> value, String baseUnit) {
+        Gauge.builder(name, filter, value)
+                .tag("table", table)
+                .baseUnit(baseUnit)
+                .register(registry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.testtechnique.config;
+
+/**
+ * Thrown when the password hashing executor is saturated and cannot take the task in time
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
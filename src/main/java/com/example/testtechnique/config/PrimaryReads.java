@@ -0,0 +1,31 @@
+package com.example.testtechnique.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads that must see the latest committed data. Read-only transactions are routed to the
+ * replica (see ReadWriteRoutingDataSource) unless their connection is first used inside {@link #run}.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T run(Supplier<T> read) {
+        Boolean previous = REQUIRED.get();
+        REQUIRED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                REQUIRED.remove();
+            }
+        }
+    }
+
+    public static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.testtechnique.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides whether read-only transactions may use the replica: not while its replication lag
+ * exceeds the configured maximum (or cannot be read), and not shortly after this node committed
+ * a write, so callers read their own writes.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    @Value("${app.datasource.routing.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${app.datasource.routing.read-after-write-ms:1000}")
+    private long readAfterWriteMs;
+
+    @Value("${app.datasource.routing.lag-check-enabled:true}")
+    private boolean lagCheckEnabled;
+
+    private volatile boolean replicaUsable = true;
+    private volatile long lastWriteCommittedAt;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable && System.currentTimeMillis() - lastWriteCommittedAt >= readAfterWriteMs;
+    }
+
+    public void recordWriteCommitted() {
+        lastWriteCommittedAt = System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        if (!lagCheckEnabled) {
+            return;
+        }
+        boolean usable;
+        try {
+            List<Map<String, Object>> status = replicaJdbcTemplate.queryForList("SHOW REPLICA STATUS");
+            if (status.isEmpty()) {
+                // Not configured as a replica (e.g. a local stand-in): nothing to lag behind
+                usable = true;
+            } else {
+                Object lag = status.get(0).get("Seconds_Behind_Source");
+                usable = lag instanceof Number seconds && seconds.longValue() <= maxLagSeconds;
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            log.warn("Replica reads {}", usable ? "resumed" : "suspended: lag above " + maxLagSeconds + "s or unknown");
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.testtechnique.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true, Java 21+): Tomcat, @Scheduled and async
+ * work run on virtual threads, so blocking JDBC no longer caps concurrency at a thread-pool size.
+ * The main data source is then wrapped in a {@link ConnectionLimitingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                int maxConnections = environment.getProperty("app.virtual-threads.max-concurrent-connections",
+                        Integer.class, environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long acquireTimeoutMs = environment.getProperty("app.virtual-threads.connection-acquire-timeout-ms",
+                        Long.class, 30000L);
+                return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeoutMs);
+            }
+        };
+    }
+}
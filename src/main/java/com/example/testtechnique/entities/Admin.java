@@ -16,7 +16,15 @@ import java.time.LocalDateTime;
 public class Admin {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "admin_ids")
+    @TableGenerator(
+            name = "admin_ids",
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.ADMINS,
+            allocationSize = IdSequences.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
@@ -25,6 +33,9 @@ public class Admin {
     @Column(nullable = false, length = 255)
     private String password;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,21 @@
+package com.example.testtechnique.entities;
+
+/**
+ * Rows of the shared id table used by the pooled (pooled-lo) id generators.
+ * A row's next_val is the first id of the next free block; reserving a block of n ids
+ * moves it forward by n, so JPA and JDBC writers can both allocate from the same row.
+ */
+public final class IdSequences {
+
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    public static final String STUDENTS = "students";
+    public static final String ADMINS = "admins";
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdSequences() {
+    }
+}
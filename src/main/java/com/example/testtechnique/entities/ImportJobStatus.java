@@ -0,0 +1,10 @@
+package com.example.testtechnique.entities;
+
+public enum ImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    // Failed and kept past the retention period: the upload was deleted, so it cannot be resumed
+    EXPIRED
+}
@@ -1,6 +1,7 @@
 package com.example.testtechnique.entities;
 
 
+import com.example.testtechnique.services.StudentIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,14 +10,31 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        // Keyset pagination seeks on (sort key, id)
+        @Index(name = "idx_students_level_id", columnList = "level, id"),
+        @Index(name = "idx_students_created_at_id", columnList = "created_at, id"),
+        // Keyset pagination within a level, sorted by creation time
+        @Index(name = "idx_students_level_created_at_id", columnList = "level, created_at, id"),
+        // MAX(updated_at) for list ETags
+        @Index(name = "idx_students_updated_at", columnList = "updated_at")
+})
+@EntityListeners(StudentIndexListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "student_ids")
+    @TableGenerator(
+            name = "student_ids",
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.STUDENTS,
+            allocationSize = IdSequences.ALLOCATION_SIZE
+    )
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
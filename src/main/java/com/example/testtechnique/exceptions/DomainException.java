@@ -0,0 +1,12 @@
+package com.example.testtechnique.exceptions;
+
+/**
+ * Expected outcome of a service call (missing entity, taken username, ...), used for control flow.
+ * No stack trace is captured: these are thrown often and only their type and message are ever used.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
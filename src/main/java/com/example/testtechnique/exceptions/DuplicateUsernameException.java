@@ -0,0 +1,8 @@
+package com.example.testtechnique.exceptions;
+
+public class DuplicateUsernameException extends DomainException {
+
+    public DuplicateUsernameException() {
+        super("Username already exists");
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.testtechnique.exceptions;
+
+/**
+ * The entity exists but is not in a state that allows the requested change
+ */
+public class InvalidStateException extends DomainException {
+
+    public InvalidStateException(String message) {
+        super(message);
+    }
+}
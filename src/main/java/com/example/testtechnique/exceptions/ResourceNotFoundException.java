@@ -0,0 +1,8 @@
+package com.example.testtechnique.exceptions;
+
+public class ResourceNotFoundException extends DomainException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
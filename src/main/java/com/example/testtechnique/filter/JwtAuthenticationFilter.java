@@ -1,20 +1,26 @@
 package com.example.testtechnique.filter;
 
 import com.example.testtechnique.config.JwtUtil;
+import com.example.testtechnique.services.AdminTokenVersionService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,6 +31,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private AdminTokenVersionService tokenVersionService;
+
+    @Value("${security.jwt.stateless:false}")
+    private boolean statelessAuth;
+
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -44,17 +58,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails;
+            Integer tokenVersion = statelessAuth ? jwtUtil.extractTokenVersion(jwt) : null;
+            List<String> authorities = tokenVersion != null ? jwtUtil.extractAuthorities(jwt) : null;
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (authorities != null && tokenVersionService.isLoaded()) {
+                // Stateless mode: trust the verified claims, only the token version is checked
+                userDetails = tokenVersionService.isCurrent(username, tokenVersion)
+                        ? User.withUsername(username)
+                                .password("")
+                                .authorities(authorities.toArray(new String[0]))
+                                .build()
+                        : null;
+            } else {
+                userDetails = this.userDetailsService.loadUserByUsername(username);
+            }
+
+            if (userDetails != null && jwtUtil.validateToken(jwt, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                // This filter is skipped on async dispatches (streamed responses); they restore the context from the request
+                securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 }
-
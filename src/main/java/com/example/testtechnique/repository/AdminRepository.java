@@ -2,8 +2,12 @@ package com.example.testtechnique.repository;
 
 import com.example.testtechnique.entities.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +19,22 @@ public interface AdminRepository extends JpaRepository<Admin, Long> {
 
 
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Username and token version of every admin
+     */
+    List<TokenVersionView> findAllBy();
+
+    /**
+     * Invalidate every token issued so far for the admin
+     */
+    @Modifying
+    @Query("UPDATE Admin a SET a.tokenVersion = a.tokenVersion + 1 WHERE a.username = :username")
+    int incrementTokenVersion(@Param("username") String username);
+
+    interface TokenVersionView {
+        String getUsername();
+
+        int getTokenVersion();
+    }
+}
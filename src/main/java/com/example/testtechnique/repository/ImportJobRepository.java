@@ -0,0 +1,82 @@
+package com.example.testtechnique.repository;
+
+import com.example.testtechnique.entities.ImportJob;
+import com.example.testtechnique.entities.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    /**
+     * Jobs in the given status, oldest first
+     */
+    List<ImportJob> findByStatusOrderByCreatedAtAsc(ImportJobStatus status);
+
+    /**
+     * Jobs in the given status that finished before the given time
+     */
+    List<ImportJob> findByStatusAndFinishedAtBefore(ImportJobStatus status, LocalDateTime finishedAt);
+
+    /**
+     * Move a job from one status to another; returns 0 when another node got there first
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :to, j.startedAt = COALESCE(j.startedAt, :now), " +
+            "j.errorMessage = NULL, j.updatedAt = :now WHERE j.id = :id AND j.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") ImportJobStatus from,
+                   @Param("to") ImportJobStatus to,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Record progress; runs in the transaction that commits the chunk. Returns 0 when the job is no
+     * longer in the expected status (failed as stale, then possibly resumed elsewhere)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.linesCommitted = :linesCommitted, j.rowsImported = :imported, " +
+            "j.rowsSkipped = :skipped, j.rowsFailed = :failed, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = :expected")
+    int checkpoint(@Param("id") String id,
+                   @Param("expected") ImportJobStatus expected,
+                   @Param("linesCommitted") long linesCommitted,
+                   @Param("imported") long imported,
+                   @Param("skipped") long skipped,
+                   @Param("failed") long failed,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Set a final status; returns 0 when the job is no longer in the expected status
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+            "j.finishedAt = :now, j.updatedAt = :now WHERE j.id = :id AND j.status = :expected")
+    int finish(@Param("id") String id,
+               @Param("expected") ImportJobStatus expected,
+               @Param("status") ImportJobStatus status,
+               @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Fail running jobs that have not checkpointed since the cutoff, in one statement, so a job that
+     * checkpoints or finishes meanwhile is left alone
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = com.example.testtechnique.entities.ImportJobStatus.FAILED, " +
+            "j.errorMessage = :errorMessage, j.finishedAt = :now, j.updatedAt = :now " +
+            "WHERE j.status = com.example.testtechnique.entities.ImportJobStatus.RUNNING AND j.updatedAt < :cutoff")
+    int failStale(@Param("cutoff") LocalDateTime cutoff,
+                  @Param("errorMessage") String errorMessage,
+                  @Param("now") LocalDateTime now);
+}
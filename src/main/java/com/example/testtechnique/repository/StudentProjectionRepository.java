@@ -0,0 +1,27 @@
+package com.example.testtechnique.repository;
+
+import com.example.testtechnique.entities.Student;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Student reads that select only some columns, without creating managed entities
+ */
+public interface StudentProjectionRepository {
+
+    /**
+     * Attributes that can be selected
+     */
+    Set<String> PROJECTABLE_FIELDS = Set.of("id", "username", "level", "createdAt", "updatedAt");
+
+    /**
+     * Page of rows holding only the given fields, in the given order, without a total
+     * (fetches one extra row to detect a next page)
+     */
+    Slice<Map<String, Object>> findProjected(Specification<Student> filter, List<String> fields, Pageable pageable);
+}
@@ -2,18 +2,24 @@ package com.example.testtechnique.repository;
 
 import com.example.testtechnique.entities.Level;
 import com.example.testtechnique.entities.Student;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student>,
+        StudentProjectionRepository {
 
     /**
      * Find student by username
@@ -25,11 +31,32 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     boolean existsByUsername(String username);
 
+    /**
+     * Usernames among the given ones that already exist
+     */
+    @Query("SELECT s.username FROM Student s WHERE s.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
     /**
      * Find students by level
      */
     Page<Student> findByLevel(Level level, Pageable pageable);
 
+    /**
+     * Students page without a total (fetches one extra row to detect a next page)
+     */
+    Slice<Student> findSliceBy(Pageable pageable);
+
+    /**
+     * Students of a level without a total
+     */
+    Slice<Student> findSliceByLevel(Level level, Pageable pageable);
+
+    /**
+     * Count students by level
+     */
+    long countByLevel(Level level);
+
     /**
      * Search students by username or ID
      */
@@ -52,7 +79,121 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     );
 
     /**
-     * Get all students for export (without pagination)
+     * Search students by username or ID without a total
+     */
+    @Query("SELECT s FROM Student s WHERE " +
+            "LOWER(s.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "CAST(s.id AS string) LIKE CONCAT('%', :searchTerm, '%')")
+    Slice<Student> searchStudentsSlice(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Search students by username or ID with level filter, without a total
+     */
+    @Query("SELECT s FROM Student s WHERE " +
+            "(LOWER(s.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "CAST(s.id AS string) LIKE CONCAT('%', :searchTerm, '%')) AND " +
+            "s.level = :level")
+    Slice<Student> searchStudentsByLevelSlice(
+            @Param("searchTerm") String searchTerm,
+            @Param("level") Level level,
+            Pageable pageable
+    );
+
+    /**
+     * Count students matching a search
+     */
+    @Query("SELECT COUNT(s) FROM Student s WHERE " +
+            "LOWER(s.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "CAST(s.id AS string) LIKE CONCAT('%', :searchTerm, '%')")
+    long countSearchStudents(@Param("searchTerm") String searchTerm);
+
+    /**
+     * Count students matching a search with level filter
      */
-    List<Student> findAllByOrderByIdAsc();
-}
\ No newline at end of file
+    @Query("SELECT COUNT(s) FROM Student s WHERE " +
+            "(LOWER(s.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "CAST(s.id AS string) LIKE CONCAT('%', :searchTerm, '%')) AND " +
+            "s.level = :level")
+    long countSearchStudentsByLevel(@Param("searchTerm") String searchTerm, @Param("level") Level level);
+
+    /**
+     * Number of students per level (levels without students are absent)
+     */
+    @Query("SELECT s.level AS level, COUNT(s) AS total FROM Student s GROUP BY s.level")
+    List<LevelCountView> countGroupedByLevel();
+
+    /**
+     * Students created per hour since the given time, as rows of year, month, day, hour and count
+     */
+    @Query("SELECT YEAR(s.createdAt), MONTH(s.createdAt), DAY(s.createdAt), HOUR(s.createdAt), COUNT(s) " +
+            "FROM Student s WHERE s.createdAt >= :since " +
+            "GROUP BY YEAR(s.createdAt), MONTH(s.createdAt), DAY(s.createdAt), HOUR(s.createdAt)")
+    List<Object[]> countCreatedPerHourSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Full-text search on username (FULLTEXT ngram index), most relevant first.
+     * The term is a boolean-mode expression such as a quoted phrase.
+     */
+    @Query(value = "SELECT * FROM students s " +
+            "WHERE MATCH(s.username) AGAINST(:term IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(s.username) AGAINST(:term IN BOOLEAN MODE) DESC, s.id ASC",
+            countQuery = "SELECT COUNT(*) FROM students s WHERE MATCH(s.username) AGAINST(:term IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Student> fullTextSearchByRelevance(@Param("term") String term, Pageable pageable);
+
+    /**
+     * Full-text search on username with level filter, most relevant first
+     */
+    @Query(value = "SELECT * FROM students s " +
+            "WHERE MATCH(s.username) AGAINST(:term IN BOOLEAN MODE) AND s.level = :level " +
+            "ORDER BY MATCH(s.username) AGAINST(:term IN BOOLEAN MODE) DESC, s.id ASC",
+            countQuery = "SELECT COUNT(*) FROM students s " +
+                    "WHERE MATCH(s.username) AGAINST(:term IN BOOLEAN MODE) AND s.level = :level",
+            nativeQuery = true)
+    Page<Student> fullTextSearchByLevelByRelevance(@Param("term") String term, @Param("level") String level,
+                                                   Pageable pageable);
+
+    /**
+     * Full-text search on username (FULLTEXT ngram index), in the pageable's order, which must name columns
+     */
+    @Query(value = "SELECT * FROM students s WHERE MATCH(s.username) AGAINST(:term IN BOOLEAN MODE)",
+            countQuery = "SELECT COUNT(*) FROM students s WHERE MATCH(s.username) AGAINST(:term IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Student> fullTextSearch(@Param("term") String term, Pageable pageable);
+
+    /**
+     * Full-text search on username with level filter, in the pageable's order
+     */
+    @Query(value = "SELECT * FROM students s " +
+            "WHERE MATCH(s.username) AGAINST(:term IN BOOLEAN MODE) AND s.level = :level",
+            countQuery = "SELECT COUNT(*) FROM students s " +
+                    "WHERE MATCH(s.username) AGAINST(:term IN BOOLEAN MODE) AND s.level = :level",
+            nativeQuery = true)
+    Page<Student> fullTextSearchByLevel(@Param("term") String term, @Param("level") String level, Pageable pageable);
+
+    /**
+     * Keyset chunk for export: students with an id above the given one, in id order
+     */
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Keyset chunk of the columns the username search index needs
+     */
+    @Query("SELECT s.id AS id, s.username AS username, s.level AS level FROM Student s " +
+            "WHERE s.id > :afterId ORDER BY s.id ASC")
+    List<SearchIndexView> findSearchIndexChunk(@Param("afterId") Long afterId, Limit limit);
+
+    interface LevelCountView {
+        Level getLevel();
+
+        long getTotal();
+    }
+
+    interface SearchIndexView {
+        Long getId();
+
+        String getUsername();
+
+        Level getLevel();
+    }
+}
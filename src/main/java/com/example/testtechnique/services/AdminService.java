@@ -1,8 +1,11 @@
 package com.example.testtechnique.services;
 
 import com.example.testtechnique.entities.Admin;
+import com.example.testtechnique.exceptions.DuplicateUsernameException;
+import com.example.testtechnique.exceptions.ResourceNotFoundException;
 import com.example.testtechnique.repository.AdminRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,19 +20,56 @@ public class AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AdminTokenVersionService tokenVersionService;
+
+    @Autowired
+    private AdminUserDetailsService userDetailsService;
+
+    @Autowired
+    private UsernameFilters usernameFilters;
+
     public Admin registerAdmin(String username, String password) {
-        if (adminRepository.existsByUsername(username)) {
-            throw new RuntimeException("Username already exists");
+        boolean checked = usernameFilters.admins().mightContain(username);
+        if (checked && usernameTaken(username)) {
+            throw new DuplicateUsernameException();
         }
 
         Admin admin = new Admin();
         admin.setUsername(username);
         admin.setPassword(passwordEncoder.encode(password));
-        return adminRepository.save(admin);
+        Admin saved;
+        if (checked) {
+            saved = adminRepository.save(admin);
+        } else {
+            // No existence query was made: flush now so the unique constraint decides within this call
+            try {
+                saved = adminRepository.saveAndFlush(admin);
+            } catch (DataIntegrityViolationException e) {
+                throw new DuplicateUsernameException();
+            }
+        }
+        usernameFilters.admins().put(saved.getUsername());
+        userDetailsService.evict(username);
+        tokenVersionService.register(saved.getUsername(), saved.getTokenVersion());
+        return saved;
+    }
+
+    public void revokeTokens(String username) {
+        if (adminRepository.incrementTokenVersion(username) == 0) {
+            throw new ResourceNotFoundException("Admin not found with username: " + username);
+        }
+        tokenVersionService.evict(username);
     }
 
     public boolean existsByUsername(String username) {
-        return adminRepository.existsByUsername(username);
+        return usernameFilters.admins().mightContain(username) && usernameTaken(username);
+    }
+
+    private boolean usernameTaken(String username) {
+        boolean exists = adminRepository.existsByUsername(username);
+        usernameFilters.admins().recordLookup(exists);
+        return exists;
     }
 }
 
@@ -0,0 +1,135 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Admin;
+import com.example.testtechnique.repository.AdminRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory view of each admin's token version, used by the JWT filter to reject
+ * revoked tokens without reading the admins table on every request. The map is
+ * refreshed on a schedule so revocations made on other nodes are picked up.
+ */
+@Service
+public class AdminTokenVersionService {
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    // Read without locking; replaced and written under lock
+    private volatile Map<String, Integer> versions = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    private final Lock lock = new ReentrantLock();
+    // Guarded by lock: generation of each admin's last register/evict, so a database read that
+    // started before it (and may have missed it) does not overwrite it. One entry per admin.
+    private final Map<String, Long> changedAt = new HashMap<>();
+    private long generation;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${security.jwt.token-version-refresh-ms:30000}")
+    public void refresh() {
+        long started = currentGeneration();
+        Map<String, Integer> fresh = new ConcurrentHashMap<>();
+        for (AdminRepository.TokenVersionView admin : adminRepository.findAllBy()) {
+            fresh.put(admin.getUsername(), admin.getTokenVersion());
+        }
+        lock.lock();
+        try {
+            // Keep what was registered or evicted while the query ran: its result may predate those commits
+            changedAt.forEach((username, changed) -> {
+                if (changed > started) {
+                    Integer version = versions.get(username);
+                    if (version != null) {
+                        fresh.put(username, version);
+                    } else {
+                        fresh.remove(username);
+                    }
+                }
+            });
+            versions = fresh;
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Current version for a token being issued; falls back to the database for admins not yet in the map
+     */
+    public int currentVersion(String username) {
+        Integer version = versions.get(username);
+        if (version == null) {
+            version = reload(username);
+        }
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Check a token's version claim. Unknown admins and tokens newer than the local view
+     * (issued on another node after a revocation) are re-checked against the database.
+     */
+    public boolean isCurrent(String username, int tokenVersion) {
+        Integer known = versions.get(username);
+        if (known == null || tokenVersion > known) {
+            known = reload(username);
+        }
+        return known != null && known == tokenVersion;
+    }
+
+    public void register(String username, int tokenVersion) {
+        AfterCommit.run(() -> changed(username, () -> versions.put(username, tokenVersion)));
+    }
+
+    public void evict(String username) {
+        AfterCommit.run(() -> changed(username, () -> versions.remove(username)));
+    }
+
+    private void changed(String username, Runnable change) {
+        lock.lock();
+        try {
+            changedAt.put(username, ++generation);
+            change.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long currentGeneration() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Integer reload(String username) {
+        long started = currentGeneration();
+        Integer version = adminRepository.findByUsername(username)
+                .map(Admin::getTokenVersion)
+                .orElse(null);
+        if (version != null) {
+            lock.lock();
+            try {
+                // A revoke committed during the read wins; the next lookup reloads
+                if (changedAt.getOrDefault(username, 0L) <= started) {
+                    versions.put(username, version);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return version;
+    }
+}
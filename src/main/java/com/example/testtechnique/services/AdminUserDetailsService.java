@@ -1,30 +1,82 @@
 package com.example.testtechnique.services;
 
-import com.example.testtechnique.entities.Admin;
 import com.example.testtechnique.repository.AdminRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Locale;
+
 @Service
 public class AdminUserDetailsService implements UserDetailsService {
 
     @Autowired
     private AdminRepository adminRepository;
 
+    @Value("${security.user-cache.max-size:1000}")
+    private long cacheMaxSize;
+
+    @Value("${security.user-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private Cache<String, CachedAdmin> cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Admin admin = adminRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Admin not found with username: " + username));
+        CachedAdmin admin = cache.get(cacheKey(username), key -> loadAdmin(username));
+        if (admin == null) {
+            throw new UsernameNotFoundException("Admin not found with username: " + username);
+        }
 
+        // Always hand out a fresh User: the authentication manager erases credentials on the instance it gets
         return User.builder()
-                .username(admin.getUsername())
-                .password(admin.getPassword())
+                .username(admin.username())
+                .password(admin.password())
                 .authorities("ROLE_ADMIN")
                 .build();
     }
-}
 
+    /**
+     * Drop the cached entry once the current transaction commits; call on any change to an admin's credentials
+     */
+    public void evict(String username) {
+        String key = cacheKey(username);
+        AfterCommit.run(() -> cache.invalidate(key));
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    private CachedAdmin loadAdmin(String username) {
+        return adminRepository.findByUsername(username)
+                .map(admin -> new CachedAdmin(admin.getUsername(), admin.getPassword()))
+                .orElse(null);
+    }
+
+    // Usernames are unique case-insensitively (MySQL collation), so the cache is too
+    private String cacheKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private record CachedAdmin(String username, String password) {
+    }
+}
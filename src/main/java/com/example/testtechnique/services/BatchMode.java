@@ -0,0 +1,11 @@
+package com.example.testtechnique.services;
+
+/**
+ * How a batch of student operations commits
+ */
+public enum BatchMode {
+    // Any failed operation rolls the whole batch back
+    ALL_OR_NOTHING,
+    // Failed operations are reported and skipped, the rest commits
+    BEST_EFFORT
+}
@@ -0,0 +1,13 @@
+package com.example.testtechnique.services;
+
+/**
+ * How the total of a paged student listing is obtained
+ */
+public enum CountMode {
+    /** COUNT(*) with the page's predicate on every request */
+    EXACT,
+    /** No total: fetch size + 1 rows to tell whether there is a next page */
+    NONE,
+    /** Total from a short-lived cache keyed by the filter, refreshed by COUNT(*) on expiry */
+    APPROXIMATE
+}
@@ -0,0 +1,153 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.ImportJob;
+import com.example.testtechnique.entities.ImportJobStatus;
+import com.example.testtechnique.exceptions.InvalidStateException;
+import com.example.testtechnique.exceptions.ResourceNotFoundException;
+import com.example.testtechnique.repository.ImportJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Background CSV imports. Uploads are stored on disk and processed by a scheduled worker that
+ * checkpoints after every committed chunk, so a failed job resumes where it stopped.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    // Must be shared storage when several nodes run the worker
+    @Value("${student.import.job-dir:${java.io.tmpdir}/student-imports}")
+    private String jobDir;
+
+    @Value("${student.import.stale-after-ms:600000}")
+    private long staleAfterMs;
+
+    @Value("${student.import.failed-retention-ms:604800000}")
+    private long failedRetentionMs;
+
+    public ImportJob submit(MultipartFile file) throws IOException {
+        Path directory = Paths.get(jobDir);
+        Files.createDirectories(directory);
+        Path target = directory.resolve(UUID.randomUUID() + ".csv");
+        try (InputStream inputStream = file.getInputStream()) {
+            Files.copy(inputStream, target);
+        }
+
+        ImportJob job = new ImportJob();
+        job.setFileName(file.getOriginalFilename());
+        job.setStoragePath(target.toString());
+        job.setStatus(ImportJobStatus.PENDING);
+        return importJobRepository.save(job);
+    }
+
+    public Optional<ImportJob> getJob(String id) {
+        return importJobRepository.findById(id);
+    }
+
+    /**
+     * Queue a failed job again; it restarts after its last committed chunk
+     */
+    public ImportJob resume(String id) {
+        ImportJob job = importJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with id: " + id));
+        if (importJobRepository.transition(id, ImportJobStatus.FAILED, ImportJobStatus.PENDING, LocalDateTime.now()) == 0) {
+            throw new InvalidStateException("Only failed import jobs can be resumed, job is " + job.getStatus());
+        }
+        job.setStatus(ImportJobStatus.PENDING);
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${student.import.poll-interval-ms:2000}")
+    public void runPendingJobs() {
+        for (ImportJob job : importJobRepository.findByStatusOrderByCreatedAtAsc(ImportJobStatus.PENDING)) {
+            // Another node may have claimed it first
+            if (importJobRepository.transition(job.getId(), ImportJobStatus.PENDING, ImportJobStatus.RUNNING,
+                    LocalDateTime.now()) == 1) {
+                run(job);
+            }
+        }
+    }
+
+    /**
+     * Fail running jobs that stopped checkpointing, e.g. because their node died, so they can be resumed.
+     * If the worker is alive after all, its next checkpoint finds the job no longer running and it stops.
+     */
+    @Scheduled(fixedDelayString = "${student.import.stale-check-interval-ms:60000}")
+    public void failStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = importJobRepository.failStale(now.minus(Duration.ofMillis(staleAfterMs)), "Import interrupted", now);
+        if (failed > 0) {
+            log.warn("Failed {} stale import job(s)", failed);
+        }
+    }
+
+    /**
+     * Delete the uploads of jobs that failed more than the retention period ago and were not resumed
+     */
+    @Scheduled(fixedDelayString = "${student.import.stale-check-interval-ms:60000}")
+    public void expireFailedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(Duration.ofMillis(failedRetentionMs));
+        for (ImportJob job : importJobRepository.findByStatusAndFinishedAtBefore(ImportJobStatus.FAILED, cutoff)) {
+            // Skipped when the job was resumed meanwhile: its file is still needed
+            if (importJobRepository.finish(job.getId(), ImportJobStatus.FAILED, ImportJobStatus.EXPIRED,
+                    job.getErrorMessage(), now) == 1) {
+                try {
+                    Files.deleteIfExists(Paths.get(job.getStoragePath()));
+                } catch (IOException e) {
+                    log.warn("Could not delete the upload of expired import job {}", job.getId(), e);
+                }
+            }
+        }
+    }
+
+    private void run(ImportJob job) {
+        String id = job.getId();
+        ImportResult totals = new ImportResult(job.getRowsImported(), job.getRowsSkipped(), job.getRowsFailed());
+        Path file = Paths.get(job.getStoragePath());
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            studentImportService.importStudents(inputStream, totals, job.getLinesCommitted(), (result, linesCommitted) -> {
+                if (importJobRepository.checkpoint(id, ImportJobStatus.RUNNING, linesCommitted, result.getImported(),
+                        result.getSkipped(), result.getFailed(), LocalDateTime.now()) == 0) {
+                    // Thrown inside the chunk's transaction, so the chunk rolls back with the checkpoint
+                    throw new InvalidStateException("Import job " + id + " is no longer running");
+                }
+            });
+            if (importJobRepository.finish(id, ImportJobStatus.RUNNING, ImportJobStatus.COMPLETED, null,
+                    LocalDateTime.now()) == 1) {
+                Files.deleteIfExists(file);
+            }
+        } catch (InvalidStateException e) {
+            // Failed as stale while this worker was still importing; whoever resumes it owns it now
+            log.warn("Import job {} stopped: {}", id, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Import job {} failed", id, e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            importJobRepository.finish(id, ImportJobStatus.RUNNING, ImportJobStatus.FAILED,
+                    message.length() > 1000 ? message.substring(0, 1000) : message, LocalDateTime.now());
+        }
+    }
+}
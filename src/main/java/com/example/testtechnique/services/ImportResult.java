@@ -0,0 +1,22 @@
+package com.example.testtechnique.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    private long imported;
+    private long skipped;
+    private long failed;
+
+    public long getProcessed() {
+        return imported + skipped + failed;
+    }
+
+    public ImportResult copy() {
+        return new ImportResult(imported, skipped, failed);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.IdSequences;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out ids for JDBC inserts from blocks reserved in id_sequences, using the same
+ * pooled-lo layout as the entities' table generators so both can share a row.
+ * Blocks are reserved with a compare-and-set update in their own transaction, which
+ * keeps them unique across nodes; ids within a block come from an atomic counter.
+ */
+@Component
+public class PooledIdAllocator {
+
+    private static final String SELECT_SQL = "SELECT " + IdSequences.VALUE_COLUMN + " FROM " + IdSequences.TABLE
+            + " WHERE " + IdSequences.NAME_COLUMN + " = ?";
+    private static final String RESERVE_SQL = "UPDATE " + IdSequences.TABLE
+            + " SET " + IdSequences.VALUE_COLUMN + " = ?"
+            + " WHERE " + IdSequences.NAME_COLUMN + " = ? AND " + IdSequences.VALUE_COLUMN + " = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionOperations requiresNew;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Lock reserveLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        // Reservations must commit even if the caller's transaction rolls back
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        requiresNew = template;
+    }
+
+    public long nextId(String sequenceName) {
+        while (true) {
+            Block block = blocks.get(sequenceName);
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.limit) {
+                    return id;
+                }
+            }
+            // A lock rather than synchronized: the reservation does I/O and must not pin a virtual thread's carrier
+            reserveLock.lock();
+            try {
+                if (blocks.get(sequenceName) == block) {
+                    blocks.put(sequenceName, reserve(sequenceName));
+                }
+            } finally {
+                reserveLock.unlock();
+            }
+        }
+    }
+
+    private Block reserve(String sequenceName) {
+        return requiresNew.execute(status -> {
+            while (true) {
+                Long first = jdbcTemplate.queryForObject(SELECT_SQL, Long.class, sequenceName);
+                if (first == null) {
+                    throw new IllegalStateException("Id sequence not initialized: " + sequenceName);
+                }
+                long limit = first + IdSequences.ALLOCATION_SIZE;
+                if (jdbcTemplate.update(RESERVE_SQL, limit, sequenceName, first) == 1) {
+                    return new Block(first, limit);
+                }
+                // Another node or a Hibernate generator took this block first: read again
+            }
+        });
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(long first, long limit) {
+            this.next = new AtomicLong(first);
+            this.limit = limit;
+        }
+    }
+}
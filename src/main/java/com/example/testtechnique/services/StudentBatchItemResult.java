@@ -0,0 +1,11 @@
+package com.example.testtechnique.services;
+
+/**
+ * Outcome of one batch operation, with the HTTP status the single-item endpoint would have answered
+ */
+public record StudentBatchItemResult(int index, StudentBatchOperation.Type type, int status, Long id, String message) {
+
+    public boolean succeeded() {
+        return status < 300;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+
+/**
+ * One create, update or delete in a batch; id is required for updates and deletes,
+ * username and level for creates and updates
+ */
+public record StudentBatchOperation(Type type, Long id, String username, Level level) {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.testtechnique.services;
+
+import java.util.List;
+
+public record StudentBatchResult(BatchMode mode, boolean committed, int succeeded, int failed,
+                                 List<StudentBatchItemResult> results) {
+}
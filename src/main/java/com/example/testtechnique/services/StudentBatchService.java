@@ -0,0 +1,315 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a list of student creates, updates and deletes in one transaction: targets are loaded with
+ * one IN query, usernames are checked with another, and the writes are flushed as JDBC batches.
+ * If the flush hits the unique username constraint, best-effort batches retry operation by operation.
+ */
+@Service
+public class StudentBatchService {
+
+    private static final int OK = 200;
+    private static final int CREATED = 201;
+    private static final int NO_CONTENT = 204;
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int CONFLICT = 409;
+    private static final int FAILED_DEPENDENCY = 424;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    @Autowired
+    private StudentCache studentCache;
+
+    @Autowired
+    private UsernameFilters usernameFilters;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Value("${student.batch.max-operations:1000}")
+    private int maxOperations;
+
+    public StudentBatchResult execute(List<StudentBatchOperation> operations, BatchMode mode) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one operation");
+        }
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxOperations + " operations");
+        }
+
+        StudentBatchItemResult[] results = new StudentBatchItemResult[operations.size()];
+        // Creates and renames, by index: the writes a unique-username violation can come from
+        Map<Integer, String> claimed = new HashMap<>();
+        Boolean committed = transactionOperations.execute(status -> {
+            try {
+                apply(operations, results, claimed);
+            } catch (DataIntegrityViolationException e) {
+                // A username was taken after the lookup: concurrently, or on another node the filter has not seen
+                status.setRollbackOnly();
+                return null;
+            }
+
+            boolean anyFailed = false;
+            for (StudentBatchItemResult result : results) {
+                anyFailed |= !result.succeeded();
+            }
+            if (anyFailed && mode == BatchMode.ALL_OR_NOTHING) {
+                status.setRollbackOnly();
+                rollBack(operations, results, Set.of());
+                return false;
+            }
+            return true;
+        });
+
+        if (committed == null) {
+            if (mode == BatchMode.ALL_OR_NOTHING) {
+                rollBack(operations, results, takenClaims(claimed));
+                committed = false;
+            } else {
+                applyEach(operations, results);
+                committed = true;
+            }
+        }
+        return toResult(mode, committed, results);
+    }
+
+    /**
+     * Mark every operation that had succeeded (or not yet been answered when a write failed) as rolled back,
+     * or as a conflict when its index is in conflicts
+     */
+    private void rollBack(List<StudentBatchOperation> operations, StudentBatchItemResult[] results,
+                          Set<Integer> conflicts) {
+        for (int i = 0; i < results.length; i++) {
+            if (pending(results[i])) {
+                StudentBatchOperation.Type type = operations.get(i).type();
+                Long id = results[i] != null ? results[i].id() : operations.get(i).id();
+                results[i] = conflicts.contains(i)
+                        ? new StudentBatchItemResult(i, type, CONFLICT, id, "Username already exists")
+                        : new StudentBatchItemResult(i, type, FAILED_DEPENDENCY, id,
+                        "Rolled back: another operation in the batch failed");
+            }
+        }
+    }
+
+    private static boolean pending(StudentBatchItemResult result) {
+        return result == null || result.succeeded();
+    }
+
+    /**
+     * Indexes of the claimed usernames that exist now, looked up without the filter
+     */
+    private Set<Integer> takenClaims(Map<Integer, String> claimed) {
+        if (claimed.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> taken = new HashSet<>();
+        for (String username : studentRepository.findExistingUsernames(Set.copyOf(claimed.values()))) {
+            taken.add(username.toLowerCase(Locale.ROOT));
+        }
+        Set<Integer> conflicts = new HashSet<>();
+        claimed.forEach((index, username) -> {
+            if (taken.contains(username.toLowerCase(Locale.ROOT))) {
+                conflicts.add(index);
+            }
+        });
+        return conflicts;
+    }
+
+    /**
+     * Best effort after a failed flush: re-apply each operation that had succeeded in its own transaction,
+     * so only the ones a constraint rejects fail. Failures found before the flush are kept.
+     */
+    private void applyEach(List<StudentBatchOperation> operations, StudentBatchItemResult[] results) {
+        for (int i = 0; i < results.length; i++) {
+            if (!pending(results[i])) {
+                continue;
+            }
+            StudentBatchOperation operation = operations.get(i);
+            StudentBatchItemResult[] single = new StudentBatchItemResult[1];
+            StudentBatchItemResult result = transactionOperations.execute(status -> {
+                try {
+                    apply(List.of(operation), single, new HashMap<>());
+                    return single[0];
+                } catch (DataIntegrityViolationException e) {
+                    status.setRollbackOnly();
+                    return new StudentBatchItemResult(0, operation.type(), CONFLICT, operation.id(), "Username already exists");
+                }
+            });
+            results[i] = new StudentBatchItemResult(i, result.type(), result.status(), result.id(), result.message());
+        }
+    }
+
+    private void apply(List<StudentBatchOperation> operations, StudentBatchItemResult[] results,
+                       Map<Integer, String> claimed) {
+        Set<Long> ids = operations.stream()
+                .map(StudentBatchOperation::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Student> targets = new HashMap<>();
+        for (Student student : studentRepository.findAllById(ids)) {
+            targets.put(student.getId(), student);
+        }
+
+        // Usernames the filter rules out skip the lookup. The filter is per node and rebuilt periodically, so one
+        // taken on another node fails the flush instead; execute() then finds it operation by operation
+        Set<String> requested = operations.stream()
+                .filter(operation -> operation.type() != StudentBatchOperation.Type.DELETE && operation.username() != null)
+                .map(StudentBatchOperation::username)
+                .filter(username -> usernameFilters.students().mightContain(username))
+                .collect(Collectors.toSet());
+        // Usernames are unique case-insensitively (MySQL collation)
+        Set<String> taken = new HashSet<>();
+        if (!requested.isEmpty()) {
+            for (String username : studentRepository.findExistingUsernames(requested)) {
+                taken.add(username.toLowerCase(Locale.ROOT));
+            }
+            usernameFilters.students().recordLookups(requested.size(), taken.size());
+        }
+
+        List<Student> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        List<Student> updated = new ArrayList<>();
+        List<Student> deleted = new ArrayList<>();
+        Set<Long> touched = new HashSet<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            StudentBatchOperation operation = operations.get(i);
+            StudentBatchOperation.Type type = operation.type();
+            String invalid = validate(operation);
+            if (invalid != null) {
+                results[i] = new StudentBatchItemResult(i, type, BAD_REQUEST, operation.id(), invalid);
+                continue;
+            }
+
+            if (type == StudentBatchOperation.Type.CREATE) {
+                if (!taken.add(operation.username().toLowerCase(Locale.ROOT))) {
+                    results[i] = new StudentBatchItemResult(i, type, CONFLICT, null, "Username already exists");
+                    continue;
+                }
+                Student student = new Student();
+                student.setUsername(operation.username());
+                student.setLevel(operation.level());
+                created.add(student);
+                createdIndexes.add(i);
+                claimed.put(i, student.getUsername());
+                usernameFilters.students().put(student.getUsername());
+                continue;
+            }
+
+            Student student = targets.get(operation.id());
+            if (student == null) {
+                results[i] = new StudentBatchItemResult(i, type, NOT_FOUND, operation.id(),
+                        "Student not found with id: " + operation.id());
+                continue;
+            }
+            if (!touched.add(student.getId())) {
+                results[i] = new StudentBatchItemResult(i, type, CONFLICT, student.getId(),
+                        "Student already modified in this batch: " + student.getId());
+                continue;
+            }
+
+            if (type == StudentBatchOperation.Type.UPDATE) {
+                String current = student.getUsername().toLowerCase(Locale.ROOT);
+                String wanted = operation.username().toLowerCase(Locale.ROOT);
+                // A freed username is not reused in the same batch: inserts are flushed before deletes
+                if (!current.equals(wanted) && !taken.add(wanted)) {
+                    touched.remove(student.getId());
+                    results[i] = new StudentBatchItemResult(i, type, CONFLICT, student.getId(), "Username already exists");
+                    continue;
+                }
+                if (!current.equals(wanted)) {
+                    claimed.put(i, operation.username());
+                }
+                Level previousLevel = student.getLevel();
+                Level level = operation.level();
+                student.setUsername(operation.username());
+                student.setLevel(level);
+                updated.add(student);
+                usernameFilters.students().put(student.getUsername());
+                AfterCommit.run(() -> studentStatsService.recordLevelChanged(previousLevel, level));
+                studentCache.evict(student.getId());
+                results[i] = new StudentBatchItemResult(i, type, OK, student.getId(), "Student updated successfully");
+            } else {
+                Level level = student.getLevel();
+                LocalDateTime createdAt = student.getCreatedAt();
+                deleted.add(student);
+                AfterCommit.run(() -> studentStatsService.recordDeleted(level, createdAt));
+                studentCache.evict(student.getId());
+                results[i] = new StudentBatchItemResult(i, type, NO_CONTENT, student.getId(), "Student deleted successfully");
+            }
+        }
+
+        // Ids come from pooled blocks, so these flush as JDBC batches (hibernate.jdbc.batch_size)
+        List<Student> saved = studentRepository.saveAll(created);
+        for (int i = 0; i < saved.size(); i++) {
+            Student student = saved.get(i);
+            int index = createdIndexes.get(i);
+            Level level = student.getLevel();
+            LocalDateTime createdAt = student.getCreatedAt();
+            AfterCommit.run(() -> studentStatsService.recordCreated(level, createdAt));
+            results[index] = new StudentBatchItemResult(index, StudentBatchOperation.Type.CREATE, CREATED, student.getId(),
+                    "Student created successfully");
+        }
+        studentRepository.saveAll(updated);
+        studentRepository.deleteAll(deleted);
+        studentRepository.flush();
+    }
+
+    private String validate(StudentBatchOperation operation) {
+        if (operation.type() == null) {
+            return "Operation type is required";
+        }
+        if (operation.type() != StudentBatchOperation.Type.CREATE && operation.id() == null) {
+            return "Id is required";
+        }
+        if (operation.type() == StudentBatchOperation.Type.DELETE) {
+            return null;
+        }
+        String username = operation.username();
+        if (username == null || username.isBlank()) {
+            return "Username is required";
+        }
+        if (username.length() < 3 || username.length() > 50) {
+            return "Username must be between 3 and 50 characters";
+        }
+        if (operation.level() == null) {
+            return "Level is required";
+        }
+        return null;
+    }
+
+    private StudentBatchResult toResult(BatchMode mode, boolean committed, StudentBatchItemResult[] results) {
+        int succeeded = 0;
+        for (StudentBatchItemResult result : results) {
+            if (result.succeeded()) {
+                succeeded++;
+            }
+        }
+        return new StudentBatchResult(mode, committed, succeeded, results.length - succeeded, List.of(results));
+    }
+}
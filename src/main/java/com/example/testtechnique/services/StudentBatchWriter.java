@@ -0,0 +1,103 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.IdSequences;
+import com.example.testtechnique.entities.Student;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC batch inserts for bulk student writes, bypassing the persistence context
+ */
+@Component
+public class StudentBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO students (id, username, level, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PooledIdAllocator idAllocator;
+
+    // JDBC writes bypass the JPA entity listeners and StudentService, so the search index and stats are updated here
+    @Autowired
+    private UsernameTrigramIndex usernameIndex;
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    @Autowired
+    private UsernameFilters usernameFilters;
+
+    @Autowired
+    private StudentTableVersions tableVersions;
+
+    /**
+     * Insert all students in one transaction as a single JDBC batch
+     */
+    @Transactional
+    public int insertBatch(List<Student> students) {
+        prepare(students);
+        jdbcTemplate.batchUpdate(INSERT_SQL, students, students.size(), (ps, student) -> {
+            ps.setLong(1, student.getId());
+            ps.setString(2, student.getUsername());
+            ps.setString(3, student.getLevel().name());
+            ps.setTimestamp(4, Timestamp.valueOf(student.getCreatedAt()));
+            ps.setTimestamp(5, Timestamp.valueOf(student.getUpdatedAt()));
+        });
+        List<Student> inserted = List.copyOf(students);
+        AfterCommit.run(() -> inserted.forEach(this::published));
+        return students.size();
+    }
+
+    /**
+     * Insert students one by one, skipping rows a constraint rejects (usernames taken in the meantime);
+     * used when a batch fails on a constraint
+     */
+    public int insertEach(List<Student> students) {
+        prepare(students);
+        int inserted = 0;
+        for (Student student : students) {
+            try {
+                jdbcTemplate.update(INSERT_SQL,
+                        student.getId(),
+                        student.getUsername(),
+                        student.getLevel().name(),
+                        Timestamp.valueOf(student.getCreatedAt()),
+                        Timestamp.valueOf(student.getUpdatedAt()));
+                AfterCommit.run(() -> published(student));
+                inserted++;
+            } catch (DataIntegrityViolationException e) {
+                // Taken concurrently (or otherwise rejected by a constraint): counted as skipped by the caller
+            }
+        }
+        return inserted;
+    }
+
+    private void published(Student student) {
+        usernameIndex.put(student.getId(), student.getUsername(), student.getLevel());
+        studentStatsService.recordCreated(student.getLevel(), student.getCreatedAt());
+        tableVersions.changed();
+    }
+
+    private void prepare(List<Student> students) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Student student : students) {
+            // Ids from a rolled-back batch were never used and stay reserved for this retry
+            if (student.getId() == null) {
+                student.setId(idAllocator.nextId(IdSequences.STUDENTS));
+            }
+            student.setCreatedAt(now);
+            student.setUpdatedAt(now);
+            usernameFilters.students().put(student.getUsername());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of students by id, bounded by entry count or by estimated bytes.
+ * Entries are immutable snapshots and every read returns a new detached {@link Student}.
+ * Writers evict after commit; the TTL bounds staleness from writes made by other nodes.
+ */
+@Component
+public class StudentCache {
+
+    private static final int STRIPES = 64;
+
+    // Rough per-entry footprint: snapshot, Student copy fields, map node and boxed key
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    @Value("${student.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${student.cache.max-weight-bytes:0}") // > 0 bounds by estimated bytes instead of entries
+    private long maxWeightBytes;
+
+    @Value("${student.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<Long, CachedStudent> cache;
+
+    // Bumped on every eviction so a load that raced with a write is not cached
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    @PostConstruct
+    void init() {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats();
+        if (maxWeightBytes > 0) {
+            builder.maximumWeight(maxWeightBytes)
+                    .weigher((Long id, CachedStudent student) -> ENTRY_OVERHEAD_BYTES + 2 * student.username().length());
+        } else {
+            builder.maximumSize(maxSize);
+        }
+        cache = builder.build();
+    }
+
+    /**
+     * Cached student, or the loader's result (cached when present and no write to the id happened meanwhile)
+     */
+    public Optional<Student> get(Long id, Function<Long, Optional<Student>> loader) {
+        CachedStudent cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.toStudent());
+        }
+
+        long generation = generations.get(stripe(id));
+        Optional<Student> loaded = loader.apply(id);
+        loaded.ifPresent(student -> {
+            CachedStudent snapshot = CachedStudent.of(student);
+            cache.asMap().compute(id, (key, current) ->
+                    generations.get(stripe(id)) == generation ? snapshot : current);
+        });
+        return loaded;
+    }
+
+    /**
+     * Drop the entry once the current transaction commits; call on every update or delete of a student
+     */
+    public void evict(Long id) {
+        AfterCommit.run(() -> {
+            generations.incrementAndGet(stripe(id));
+            cache.invalidate(id);
+        });
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static int stripe(Long id) {
+        return (int) Math.floorMod(id, (long) STRIPES);
+    }
+
+    private record CachedStudent(Long id, String username, Level level,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static CachedStudent of(Student student) {
+            return new CachedStudent(student.getId(), student.getUsername(), student.getLevel(),
+                    student.getCreatedAt(), student.getUpdatedAt());
+        }
+
+        Student toStudent() {
+            return new Student(id, username, level, createdAt, updatedAt);
+        }
+    }
+}
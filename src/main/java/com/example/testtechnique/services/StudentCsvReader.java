@@ -0,0 +1,77 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * Reads the student import CSV ("username,level" after a header line) one row at a time
+ */
+public class StudentCsvReader {
+
+    private final BufferedReader reader;
+    private long linesRead;
+
+    public StudentCsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Consume the header line; false when the input is empty
+     */
+    public boolean readHeader() throws IOException {
+        return reader.readLine() != null;
+    }
+
+    /**
+     * Next data row with at least two columns, or null at the end of the input
+     */
+    public Row next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            linesRead++;
+            Row row = parse(line.trim());
+            if (row != null) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Data lines read so far, blank ones included
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * The row, or null for a blank line or one with fewer than two columns, which the import ignores
+     */
+    static Row parse(String line) {
+        String[] parts = line.split(",");
+        if (line.isEmpty() || parts.length < 2) {
+            return null;
+        }
+        String username = parts[0].trim();
+        try {
+            return new Row(username, Level.valueOf(parts[1].trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return new Row(username, null);
+        }
+    }
+
+    public record Row(String username, Level level) {
+
+        // students.username is VARCHAR(50); longer names would fail the whole batch
+        public static final int MAX_USERNAME_LENGTH = 50;
+
+        public boolean isValid() {
+            return username != null && !username.isBlank() && username.length() <= MAX_USERNAME_LENGTH
+                    && level != null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Student;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV layout of the student export
+ */
+public final class StudentCsvWriter {
+
+    public static final String HEADER = "ID,Username,Level,Created At,Updated At\n";
+
+    private StudentCsvWriter() {
+    }
+
+    public static void writeHeader(Writer writer) throws IOException {
+        writer.write(HEADER);
+    }
+
+    public static void writeRow(Writer writer, Student student) throws IOException {
+        writer.write(String.valueOf(student.getId()));
+        writer.write(',');
+        writer.write(student.getUsername());
+        writer.write(',');
+        writer.write(String.valueOf(student.getLevel()));
+        writer.write(',');
+        writer.write(String.valueOf(student.getCreatedAt()));
+        writer.write(',');
+        writer.write(String.valueOf(student.getUpdatedAt()));
+        writer.write('\n');
+    }
+}
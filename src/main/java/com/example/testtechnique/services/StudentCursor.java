@@ -0,0 +1,82 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque keyset cursor for student listings: the sort property and direction, the last (or first)
+ * row's value for it and its id, and whether to read forward or backward from there.
+ */
+public record StudentCursor(String sortBy, Sort.Direction direction, boolean backward, Long id, Object sortValue) {
+
+    /**
+     * Sort properties that can be paged by keyset; all are non-null and indexed together with id
+     */
+    public static final Set<String> SORTABLE = Set.of("id", "username", "level", "createdAt");
+
+    private static final String ID = "id";
+
+    public static void checkSortable(String sortBy) {
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination cannot sort by: " + sortBy);
+        }
+    }
+
+    /**
+     * Cursor pointing at the given row position of a window
+     */
+    public static StudentCursor at(ScrollPosition position, String sortBy, Sort.Direction direction, boolean backward) {
+        Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+        return new StudentCursor(sortBy, direction, backward, (Long) keys.get(ID), keys.get(sortBy));
+    }
+
+    public ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!ID.equals(sortBy)) {
+            keys.put(sortBy, sortValue);
+        }
+        keys.put(ID, id);
+        return backward ? ScrollPosition.backward(keys) : ScrollPosition.forward(keys);
+    }
+
+    public String encode() {
+        String value = ID.equals(sortBy) ? "" : String.valueOf(sortValue);
+        String raw = (backward ? "B" : "F") + "\n" + direction + "\n" + sortBy + "\n" + id + "\n" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StudentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 5);
+            if (parts.length != 5 || !SORTABLE.contains(parts[2])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            String sortBy = parts[2];
+            Long id = Long.valueOf(parts[3]);
+            return new StudentCursor(sortBy, direction, "B".equals(parts[0]), id, parseValue(sortBy, parts[4], id));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static Object parseValue(String sortBy, String value, Long id) {
+        return switch (sortBy) {
+            case "id" -> id;
+            case "level" -> Level.valueOf(value);
+            case "createdAt" -> LocalDateTime.parse(value);
+            default -> value;
+        };
+    }
+}
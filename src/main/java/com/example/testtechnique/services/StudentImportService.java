@@ -0,0 +1,179 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.repository.StudentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * CSV import engine: rows are deduplicated within the file and against the database
+ * with one query per chunk, then written as one JDBC batch per chunk.
+ */
+@Service
+public class StudentImportService {
+
+    // Rows per outcome; rate() over these gives rows imported per second
+    private static final Counter IMPORTED_ROWS = rowCounter("imported");
+    private static final Counter SKIPPED_ROWS = rowCounter("skipped");
+    private static final Counter FAILED_ROWS = rowCounter("failed");
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentBatchWriter batchWriter;
+
+    @Autowired
+    private UsernameFilters usernameFilters;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Value("${student.import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Called inside each chunk's transaction with the running totals and the number of CSV data lines consumed
+     */
+    @FunctionalInterface
+    public interface ChunkListener {
+        void afterChunk(ImportResult totals, long linesCommitted);
+    }
+
+    public ImportResult importStudents(InputStream inputStream) throws IOException {
+        return importStudents(inputStream, new ImportResult(), 0, (totals, linesCommitted) -> {
+        });
+    }
+
+    /**
+     * Import the CSV, resuming after the first {@code linesCommitted} data lines that an earlier run committed
+     */
+    public ImportResult importStudents(InputStream inputStream, ImportResult totals, long linesCommitted,
+                                       ChunkListener listener) throws IOException {
+        StudentCsvReader reader = new StudentCsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        if (!reader.readHeader()) {
+            throw new IllegalArgumentException("Invalid CSV format");
+        }
+
+        Set<String> seenUsernames = new HashSet<>();
+        StudentCsvReader.Row row;
+        while (reader.getLinesRead() < linesCommitted && (row = reader.next()) != null) {
+            if (row.isValid()) {
+                seenUsernames.add(normalize(row.username()));
+            }
+        }
+
+        List<StudentCsvReader.Row> chunk = new ArrayList<>(chunkSize);
+        while ((row = reader.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, seenUsernames, totals, reader.getLinesRead(), listener);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, seenUsernames, totals, reader.getLinesRead(), listener);
+        }
+
+        if (reader.getLinesRead() == 0) {
+            throw new IllegalArgumentException("Invalid CSV format");
+        }
+        return totals;
+    }
+
+    private void importChunk(List<StudentCsvReader.Row> rows, Set<String> seenUsernames, ImportResult totals,
+                             long linesRead, ChunkListener listener) {
+        ImportResult next = totals.copy();
+        List<StudentCsvReader.Row> candidates = new ArrayList<>(rows.size());
+        for (StudentCsvReader.Row row : rows) {
+            if (!row.isValid()) {
+                next.setFailed(next.getFailed() + 1);
+            } else if (!seenUsernames.add(normalize(row.username()))) {
+                next.setSkipped(next.getSkipped() + 1);
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        List<Student> students = new ArrayList<>(candidates.size());
+        if (!candidates.isEmpty()) {
+            // Only usernames the filter cannot rule out are looked up. The filter does not see usernames taken on
+            // other nodes since its last rebuild: the unique constraint catches those, and the chunk is retried per row
+            List<String> maybeTaken = candidates.stream()
+                    .map(StudentCsvReader.Row::username)
+                    .filter(username -> usernameFilters.students().mightContain(username))
+                    .toList();
+            Set<String> existing = new HashSet<>();
+            if (!maybeTaken.isEmpty()) {
+                for (String username : studentRepository.findExistingUsernames(maybeTaken)) {
+                    existing.add(normalize(username));
+                }
+                usernameFilters.students().recordLookups(maybeTaken.size(), existing.size());
+            }
+            for (StudentCsvReader.Row row : candidates) {
+                if (!existing.contains(normalize(row.username()))) {
+                    Student student = new Student();
+                    student.setUsername(row.username());
+                    student.setLevel(row.level());
+                    students.add(student);
+                }
+            }
+        }
+
+        ImportResult committed;
+        try {
+            committed = transactionOperations.execute(status -> {
+                int inserted = students.isEmpty() ? 0 : batchWriter.insertBatch(students);
+                ImportResult result = withInserted(next, candidates.size(), inserted);
+                listener.afterChunk(result, linesRead);
+                return result;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A username was taken between the lookup and the insert, or another row broke a constraint:
+            // retry row by row so only the offending rows are skipped
+            ImportResult result = withInserted(next, candidates.size(), batchWriter.insertEach(students));
+            transactionOperations.executeWithoutResult(status -> listener.afterChunk(result, linesRead));
+            committed = result;
+        }
+
+        IMPORTED_ROWS.increment(committed.getImported() - totals.getImported());
+        SKIPPED_ROWS.increment(committed.getSkipped() - totals.getSkipped());
+        FAILED_ROWS.increment(committed.getFailed() - totals.getFailed());
+        totals.setImported(committed.getImported());
+        totals.setSkipped(committed.getSkipped());
+        totals.setFailed(committed.getFailed());
+    }
+
+    private ImportResult withInserted(ImportResult totals, int candidates, int inserted) {
+        ImportResult result = totals.copy();
+        result.setImported(result.getImported() + inserted);
+        result.setSkipped(result.getSkipped() + candidates - inserted);
+        return result;
+    }
+
+    private static Counter rowCounter(String outcome) {
+        return Counter.builder("students.import.rows")
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry);
+    }
+
+    // Usernames are unique case-insensitively (MySQL collation)
+    private String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Keeps {@link UsernameTrigramIndex} and {@link StudentTableVersions} in step with JPA writes to {@link Student}.
+ * Instantiated by Hibernate through Spring's bean container; changes are applied after commit.
+ */
+public class StudentIndexListener {
+
+    @Autowired
+    private UsernameTrigramIndex usernameIndex;
+
+    @Autowired
+    private StudentTableVersions tableVersions;
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Student student) {
+        Long id = student.getId();
+        // Read now: the entity may change again before the commit
+        String username = student.getUsername();
+        Level level = student.getLevel();
+        AfterCommit.run(() -> {
+            usernameIndex.put(id, username, level);
+            tableVersions.changed();
+        });
+    }
+
+    @PostRemove
+    void onRemove(Student student) {
+        Long id = student.getId();
+        AfterCommit.run(() -> {
+            usernameIndex.remove(id);
+            tableVersions.changed();
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.testtechnique.services;
+
+/**
+ * How username/id search is resolved
+ */
+public enum StudentSearchMode {
+    /** LIKE '%term%' query in the database */
+    LIKE,
+    /** In-memory trigram index, then a primary key lookup for the returned page */
+    INDEX,
+    /** MySQL FULLTEXT index with the ngram parser, built without stopwords; unsorted results by relevance */
+    FULLTEXT
+}
@@ -1,15 +1,40 @@
 package com.example.testtechnique.services;
 
+import com.example.testtechnique.config.PrimaryReads;
 import com.example.testtechnique.entities.Level;
 import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.exceptions.DuplicateUsernameException;
+import com.example.testtechnique.exceptions.ResourceNotFoundException;
 import com.example.testtechnique.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,57 +44,346 @@ public class StudentService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UsernameTrigramIndex usernameIndex;
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    @Autowired
+    private StudentCache studentCache;
+
+    @Autowired
+    private StudentTableVersions tableVersions;
+
+    @Autowired
+    private UsernameFilters usernameFilters;
+
+    @Value("${student.search.mode:INDEX}")
+    private StudentSearchMode searchMode;
+
+    @Value("${student.count-cache.max-size:1000}")
+    private long countCacheMaxSize;
+
+    @Value("${student.count-cache.ttl-seconds:30}")
+    private long countCacheTtlSeconds;
+
+    // Listing totals for CountMode.APPROXIMATE, keyed by the lowercased search term and level
+    private Cache<CountKey, Long> countCache;
+
+    // Student properties whose column name differs, for the native full-text queries
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    // Must match the server's ngram_token_size
+    @Value("${student.search.fulltext.ngram-token-size:2}")
+    private int ngramTokenSize;
+
+    @PostConstruct
+    void initCountCache() {
+        countCache = Caffeine.newBuilder()
+                .maximumSize(countCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(countCacheTtlSeconds))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     public Page<Student> getAllStudents(Pageable pageable) {
         return studentRepository.findAll(pageable);
     }
 
+    /**
+     * Served from the student cache; the returned student is a detached copy. Misses load from the
+     * primary: a lagging replica row would otherwise be cached, stale, for the whole TTL.
+     */
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentById(Long id) {
-        return studentRepository.findById(id);
+        return studentCache.get(id, key -> PrimaryReads.run(() -> studentRepository.findById(key)));
+    }
+
+    /**
+     * Version of the whole students table, for conditional requests on listings; read from memory
+     */
+    public StudentTableVersion getTableVersion() {
+        return tableVersions.current();
     }
 
     public Student createStudent(Student student) {
-        if (studentRepository.existsByUsername(student.getUsername())) {
-            throw new RuntimeException("Username already exists");
+        boolean checked = usernameFilters.students().mightContain(student.getUsername());
+        if (checked && usernameTaken(student.getUsername())) {
+            throw new DuplicateUsernameException();
         }
-        return studentRepository.save(student);
+        Student saved = checked ? studentRepository.save(student) : saveUnchecked(student);
+        usernameFilters.students().put(saved.getUsername());
+        Level level = saved.getLevel();
+        LocalDateTime createdAt = saved.getCreatedAt();
+        AfterCommit.run(() -> studentStatsService.recordCreated(level, createdAt));
+        return saved;
     }
 
     public Student updateStudent(Long id, Student studentDetails) {
         Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
 
         // Check if username is being changed and if it already exists
-        if (!student.getUsername().equals(studentDetails.getUsername()) &&
-            studentRepository.existsByUsername(studentDetails.getUsername())) {
-            throw new RuntimeException("Username already exists");
+        boolean renamed = !student.getUsername().equals(studentDetails.getUsername());
+        boolean checked = !renamed || usernameFilters.students().mightContain(studentDetails.getUsername());
+        if (renamed && checked && usernameTaken(studentDetails.getUsername())) {
+            throw new DuplicateUsernameException();
         }
 
+        Level previousLevel = student.getLevel();
         student.setUsername(studentDetails.getUsername());
         student.setLevel(studentDetails.getLevel());
-        return studentRepository.save(student);
+        Student saved = checked ? studentRepository.save(student) : saveUnchecked(student);
+        usernameFilters.students().put(saved.getUsername());
+        Level level = saved.getLevel();
+        AfterCommit.run(() -> studentStatsService.recordLevelChanged(previousLevel, level));
+        studentCache.evict(id);
+        return saved;
+    }
+
+    private boolean usernameTaken(String username) {
+        boolean exists = studentRepository.existsByUsername(username);
+        usernameFilters.students().recordLookup(exists);
+        return exists;
+    }
+
+    /**
+     * Save without a prior existence check: flushed now so the unique constraint decides within this call
+     */
+    private Student saveUnchecked(Student student) {
+        try {
+            return studentRepository.saveAndFlush(student);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateUsernameException();
+        }
     }
 
     public void deleteStudent(Long id) {
         if (!studentRepository.existsById(id)) {
-            throw new RuntimeException("Student not found with id: " + id);
+            throw new ResourceNotFoundException("Student not found with id: " + id);
         }
+        // Loads the row into the persistence context, so deleteById does not select it again
+        studentRepository.findById(id).ifPresent(student -> {
+            Level level = student.getLevel();
+            LocalDateTime createdAt = student.getCreatedAt();
+            AfterCommit.run(() -> studentStatsService.recordDeleted(level, createdAt));
+        });
         studentRepository.deleteById(id);
+        studentCache.evict(id);
     }
 
+    @Transactional(readOnly = true)
     public Page<Student> searchStudents(String searchTerm, Pageable pageable) {
-        return studentRepository.searchStudents(searchTerm, pageable);
+        if (useFullText(searchTerm)) {
+            return pageable.getSort().isUnsorted()
+                    ? studentRepository.fullTextSearchByRelevance(toPhrase(searchTerm), pageable)
+                    : studentRepository.fullTextSearch(toPhrase(searchTerm), columnOrder(pageable));
+        }
+        return searchIndex(searchTerm, null, pageable)
+                .orElseGet(() -> studentRepository.searchStudents(searchTerm, pageable));
+    }
+
+    /**
+     * Page of students without counting the total, optionally filtered by search term and level
+     */
+    @Transactional(readOnly = true)
+    public Slice<Student> sliceStudents(String searchTerm, Level level, Pageable pageable) {
+        boolean search = searchTerm != null && !searchTerm.isEmpty();
+        if (search && level != null) {
+            return studentRepository.searchStudentsByLevelSlice(searchTerm, level, pageable);
+        } else if (search) {
+            return studentRepository.searchStudentsSlice(searchTerm, pageable);
+        } else if (level != null) {
+            return studentRepository.findSliceByLevel(level, pageable);
+        }
+        return studentRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Page of students whose total comes from the count cache; it may lag recent writes by up to the cache TTL
+     */
+    @Transactional(readOnly = true)
+    public Page<Student> pageStudentsApproximate(String searchTerm, Level level, Pageable pageable) {
+        Slice<Student> slice = sliceStudents(searchTerm, level, pageable);
+        return new PageImpl<>(slice.getContent(), pageable, approximateCount(searchTerm, level));
+    }
+
+    /**
+     * Page of students reduced to the requested fields, selected as a tuple projection;
+     * the total is counted according to the count mode
+     */
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> projectStudents(List<String> fields, String searchTerm, Level level,
+                                                      Pageable pageable, CountMode countMode) {
+        Specification<Student> filter = listingFilter(searchTerm, level);
+        Slice<Map<String, Object>> slice = studentRepository.findProjected(filter, fields, pageable);
+        if (countMode == CountMode.NONE) {
+            return slice;
+        }
+        long total = countMode == CountMode.APPROXIMATE
+                ? approximateCount(searchTerm, level)
+                : studentRepository.count(filter);
+        return new PageImpl<>(slice.getContent(), pageable, total);
     }
 
+    private long approximateCount(String searchTerm, Level level) {
+        String search = searchTerm == null || searchTerm.isEmpty() ? null : searchTerm.toLowerCase(Locale.ROOT);
+        return countCache.get(new CountKey(search, level), key -> {
+            if (search != null && level != null) {
+                return studentRepository.countSearchStudentsByLevel(searchTerm, level);
+            } else if (search != null) {
+                return studentRepository.countSearchStudents(searchTerm);
+            } else if (level != null) {
+                return studentRepository.countByLevel(level);
+            }
+            return studentRepository.count();
+        });
+    }
+
+    @Transactional(readOnly = true)
     public Page<Student> filterStudentsByLevel(Level level, Pageable pageable) {
         return studentRepository.findByLevel(level, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Student> searchAndFilterStudents(String searchTerm, Level level, Pageable pageable) {
-        return studentRepository.searchStudentsByLevel(searchTerm, level, pageable);
+        if (useFullText(searchTerm)) {
+            return pageable.getSort().isUnsorted()
+                    ? studentRepository.fullTextSearchByLevelByRelevance(toPhrase(searchTerm), level.name(), pageable)
+                    : studentRepository.fullTextSearchByLevel(toPhrase(searchTerm), level.name(), columnOrder(pageable));
+        }
+        return searchIndex(searchTerm, level, pageable)
+                .orElseGet(() -> studentRepository.searchStudentsByLevel(searchTerm, level, pageable));
     }
 
-    public List<Student> getAllStudentsForExport() {
-        return studentRepository.findAllByOrderByIdAsc();
+    /**
+     * FULLTEXT mode covers username terms the ngram parser can match; id lookups
+     * (digits) and terms shorter than one ngram still use the LIKE query
+     */
+    private boolean useFullText(String searchTerm) {
+        return searchMode == StudentSearchMode.FULLTEXT
+                && searchTerm.length() >= ngramTokenSize
+                && !searchTerm.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Quoted boolean-mode phrase: with the ngram parser it matches the term as a substring
+     */
+    private static String toPhrase(String searchTerm) {
+        return "\"" + searchTerm.replace("\"", "") + "\"";
+    }
+
+    /**
+     * Whether an unsorted search for the term is ordered by relevance (FULLTEXT mode only)
+     */
+    public boolean ranksByRelevance(String searchTerm) {
+        return useFullText(searchTerm);
+    }
+
+    /**
+     * An explicit sort on a full-text search is kept: the native queries need it rewritten to column names,
+     * with the id as a tiebreaker for stable pages
+     */
+    private static Pageable columnOrder(Pageable pageable) {
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : pageable.getSort()) {
+            String column = SORT_COLUMNS.getOrDefault(order.getProperty(), order.getProperty());
+            byId |= column.equals("id");
+            orders.add(order.withProperty(column));
+        }
+        if (!byId) {
+            orders.add(Sort.Order.asc("id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
     }
-}
 
+    /**
+     * Resolve the page's ids from the trigram index and load only those students;
+     * empty when search goes to the database instead
+     */
+    private Optional<Page<Student>> searchIndex(String searchTerm, Level level, Pageable pageable) {
+        if (searchMode != StudentSearchMode.INDEX) {
+            return Optional.empty();
+        }
+        return usernameIndex.search(searchTerm, level, pageable).map(ids -> {
+            Map<Long, Student> byId = new HashMap<>();
+            for (Student student : studentRepository.findAllById(ids.getContent())) {
+                byId.put(student.getId(), student);
+            }
+            List<Student> students = new ArrayList<>(ids.getNumberOfElements());
+            for (Long id : ids.getContent()) {
+                Student student = byId.get(id);
+                // Deleted on another node since the last rebuild
+                if (student != null) {
+                    students.add(student);
+                }
+            }
+            return new PageImpl<>(students, pageable, ids.getTotalElements());
+        });
+    }
+
+    /**
+     * Keyset page of students after (or before) the cursor, optionally filtered by search term and level.
+     * Rows are sought from the cursor's sort key and id, so deep pages cost the same as the first one
+     * when an index covers (filter, sort key, id): unfiltered, and with a level filter sorted by id or
+     * createdAt. A level filter sorted by username, and any search term (a leading-wildcard LIKE), still
+     * scan rows until the page is filled, so those pages are not bounded by the page size.
+     */
+    @Transactional(readOnly = true)
+    public Window<Student> scrollStudents(String searchTerm, Level level, String sortBy, Sort.Direction direction,
+                                          StudentCursor cursor, int size) {
+        StudentCursor.checkSortable(sortBy);
+        if (cursor != null && !cursor.sortBy().equals(sortBy)) {
+            throw new IllegalArgumentException("Cursor was issued for sort: " + cursor.sortBy());
+        }
+        if (cursor != null && cursor.direction() != direction) {
+            throw new IllegalArgumentException("Cursor was issued for direction: " + cursor.direction());
+        }
+
+        Sort sort = Sort.by(direction, sortBy);
+        if (!"id".equals(sortBy)) {
+            // id breaks ties so every row has a unique position
+            sort = sort.and(Sort.by(direction, "id"));
+        }
+        Sort order = sort;
+        ScrollPosition position = cursor != null ? cursor.toScrollPosition() : ScrollPosition.keyset();
+        return studentRepository.findBy(listingFilter(searchTerm, level),
+                query -> query.sortBy(order).limit(size).scroll(position));
+    }
+
+    private static Specification<Student> listingFilter(String searchTerm, Level level) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (searchTerm != null && !searchTerm.isEmpty()) {
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("username")), "%" + searchTerm.toLowerCase(Locale.ROOT) + "%"),
+                        cb.like(root.get("id").as(String.class), "%" + searchTerm + "%")));
+            }
+            if (level != null) {
+                predicates.add(cb.equal(root.get("level"), level));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Next export chunk after the given id; the students are detached so a full
+     * export never accumulates in the persistence context
+     */
+    @Transactional(readOnly = true)
+    public List<Student> getStudentsForExport(Long afterId, int limit) {
+        List<Student> students = studentRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+        students.forEach(entityManager::detach);
+        return students;
+    }
+
+    private record CountKey(String search, Level level) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of the student counters
+ */
+public record StudentStats(long total,
+                           Map<Level, Long> byLevel,
+                           long createdLastHour,
+                           long createdLast24Hours,
+                           LocalDateTime reconciledAt) {
+}
@@ -0,0 +1,154 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory student counters per level and per creation hour (last 24 hours).
+ * Writers report committed changes; a scheduled reconcile resets the counters from the
+ * database to correct drift, e.g. from writes made by other nodes. Reads never hit the database.
+ */
+@Service
+public class StudentStatsService {
+
+    private static final int HOURS = 24;
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentTableVersions tableVersions;
+
+    // Guarded by this
+    private final EnumMap<Level, Long> byLevel = new EnumMap<>(Level.class);
+    private final long[] bucketHour = new long[HOURS];
+    private final long[] bucketCount = new long[HOURS];
+    private LocalDateTime reconciledAt;
+
+    public StudentStatsService() {
+        for (Level level : Level.values()) {
+            byLevel.put(level, 0L);
+        }
+    }
+
+    /**
+     * Call once the creating transaction has committed
+     */
+    public synchronized void recordCreated(Level level, LocalDateTime createdAt) {
+        byLevel.merge(level, 1L, Long::sum);
+        if (createdAt != null) {
+            addToHour(epochHour(createdAt), 1);
+        }
+    }
+
+    /**
+     * Call once the updating transaction has committed
+     */
+    public synchronized void recordLevelChanged(Level from, Level to) {
+        if (from == to) {
+            return;
+        }
+        byLevel.merge(from, -1L, Long::sum);
+        byLevel.merge(to, 1L, Long::sum);
+    }
+
+    /**
+     * Call once the deleting transaction has committed
+     */
+    public synchronized void recordDeleted(Level level, LocalDateTime createdAt) {
+        byLevel.merge(level, -1L, Long::sum);
+        if (createdAt != null) {
+            addToHour(epochHour(createdAt), -1);
+        }
+    }
+
+    public synchronized StudentStats getStats() {
+        long total = 0;
+        for (long count : byLevel.values()) {
+            total += count;
+        }
+        long currentHour = epochHour(LocalDateTime.now());
+        long lastHour = 0;
+        long last24Hours = 0;
+        for (int i = 0; i < HOURS; i++) {
+            if (bucketHour[i] > currentHour - HOURS) {
+                last24Hours += bucketCount[i];
+                if (bucketHour[i] == currentHour) {
+                    lastHour = bucketCount[i];
+                }
+            }
+        }
+        return new StudentStats(total, new EnumMap<>(byLevel), lastHour, last24Hours, reconciledAt);
+    }
+
+    /**
+     * Replace the counters with the database's numbers. Changes committed while the queries run
+     * may be counted twice or missed until the next run. The first run seeds the counters before
+     * the application reports ready, so they never read 0 for an existing table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${student.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${student.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        long currentHour = epochHour(now);
+        LocalDateTime since = now.withMinute(0).withSecond(0).withNano(0).minusHours(HOURS - 1);
+
+        Map<Level, Long> levels = new EnumMap<>(Level.class);
+        for (Level level : Level.values()) {
+            levels.put(level, 0L);
+        }
+        for (StudentRepository.LevelCountView view : studentRepository.countGroupedByLevel()) {
+            levels.put(view.getLevel(), view.getTotal());
+        }
+        List<Object[]> hours = studentRepository.countCreatedPerHourSince(since);
+
+        synchronized (this) {
+            byLevel.putAll(levels);
+            for (int i = 0; i < HOURS; i++) {
+                bucketHour[i] = 0;
+                bucketCount[i] = 0;
+            }
+            for (Object[] row : hours) {
+                LocalDateTime hour = LocalDateTime.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                        ((Number) row[2]).intValue(), ((Number) row[3]).intValue(), 0);
+                long epochHour = epochHour(hour);
+                if (epochHour > currentHour - HOURS) {
+                    addToHour(epochHour, ((Number) row[4]).longValue());
+                }
+            }
+            reconciledAt = now;
+        }
+        // Other nodes' writes are only seen here, so listings cached before them are revalidated from now on
+        tableVersions.changed();
+    }
+
+    private void addToHour(long epochHour, long delta) {
+        int slot = (int) Math.floorMod(epochHour, (long) HOURS);
+        if (bucketHour[slot] != epochHour) {
+            if (bucketHour[slot] > epochHour) {
+                // Older than the bucket's current hour: already outside the window
+                return;
+            }
+            bucketHour[slot] = epochHour;
+            bucketCount[slot] = 0;
+        }
+        bucketCount[slot] += delta;
+    }
+
+    private static long epochHour(LocalDateTime time) {
+        return Math.floorDiv(time.atZone(ZoneId.systemDefault()).toEpochSecond(), SECONDS_PER_HOUR);
+    }
+}
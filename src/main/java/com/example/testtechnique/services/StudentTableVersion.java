@@ -0,0 +1,8 @@
+package com.example.testtechnique.services;
+
+/**
+ * Version of the students table as seen by this node: the epoch identifies the node's run,
+ * the counter changes with every committed write and every periodic reload
+ */
+public record StudentTableVersion(String epoch, long version) {
+}
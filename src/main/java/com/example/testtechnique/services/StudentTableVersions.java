@@ -0,0 +1,30 @@
+package com.example.testtechnique.services;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory students table version for listing ETags, so validating a page costs no query.
+ * Writers bump it once their change has committed; writes made by other nodes are only picked
+ * up when the stats reconcile bumps it, so those may be validated as current until then.
+ */
+@Component
+public class StudentTableVersions {
+
+    // Versions of different nodes and restarts never compare equal
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Call once the writing transaction has committed
+     */
+    public void changed() {
+        version.incrementAndGet();
+    }
+
+    public StudentTableVersion current() {
+        return new StudentTableVersion(epoch, version.get());
+    }
+}
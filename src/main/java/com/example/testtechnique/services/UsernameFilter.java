@@ -0,0 +1,104 @@
+package com.example.testtechnique.services;
+
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Username membership for one table: a definite "no" lets callers skip the existence query and insert
+ * straight away, leaving the unique constraint as the final check. Answers "maybe" until first loaded.
+ */
+public class UsernameFilter {
+
+    private volatile UsernameBloomFilter filter;
+    // Non-null while a rebuild is loading; usernames added meanwhile are replayed into the new filter
+    private volatile Queue<String> addedDuringRebuild;
+
+    private final AtomicLong skippedLookups = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    public boolean mightContain(String username) {
+        UsernameBloomFilter current = filter;
+        if (current == null || current.mightContain(key(username))) {
+            return true;
+        }
+        skippedLookups.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Report the database answer for a username the filter said might exist
+     */
+    public void recordLookup(boolean exists) {
+        recordLookups(1, exists ? 1 : 0);
+    }
+
+    /**
+     * Report a batched lookup of usernames the filter said might exist, of which found were taken
+     */
+    public void recordLookups(int looked, int found) {
+        lookups.addAndGet(looked);
+        falsePositives.addAndGet(looked - found);
+    }
+
+    /**
+     * Add a username as soon as it is written; a rolled-back write only leaves a false positive until the next rebuild
+     */
+    public void put(String username) {
+        String key = key(username);
+        Queue<String> pending = addedDuringRebuild;
+        if (pending != null) {
+            pending.add(key);
+        }
+        UsernameBloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+    }
+
+    /**
+     * Replace the filter with one loaded from the database; deleted usernames drop out this way
+     */
+    void rebuild(long expectedInsertions, double fpp, Consumer<Consumer<String>> loader) {
+        Queue<String> pending = new ConcurrentLinkedQueue<>();
+        addedDuringRebuild = pending;
+        try {
+            UsernameBloomFilter fresh = new UsernameBloomFilter(expectedInsertions, fpp);
+            loader.accept(username -> fresh.put(key(username)));
+            filter = fresh;
+            addedDuringRebuild = null;
+            pending.forEach(fresh::put);
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    public UsernameFilterStats stats() {
+        UsernameBloomFilter current = filter;
+        long absent = falsePositives.get() + skippedLookups.get();
+        double observedFpp = absent == 0 ? 0 : (double) falsePositives.get() / absent;
+        return new UsernameFilterStats(
+                current != null,
+                current != null ? current.insertions() : 0,
+                current != null ? current.memoryBytes() : 0,
+                current != null ? current.expectedFpp() : 0,
+                current != null ? current.estimatedFpp() : 0,
+                observedFpp,
+                skippedLookups.get(),
+                lookups.get(),
+                falsePositives.get()
+        );
+    }
+
+    // Usernames are unique case-insensitively (MySQL collation)
+    private String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.testtechnique.services;
+
+/**
+ * observedFpp is false positives over all lookups of absent usernames (skipped or queried in vain)
+ */
+public record UsernameFilterStats(boolean ready, long insertions, long memoryBytes, double expectedFpp,
+                                  double estimatedFpp, double observedFpp, long skippedLookups, long lookups,
+                                  long falsePositives) {
+}
@@ -0,0 +1,77 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.repository.AdminRepository;
+import com.example.testtechnique.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Username filters for the students and admins tables, loaded at startup and rebuilt periodically
+ * to drop deleted usernames and pick up those written by other nodes
+ */
+@Service
+public class UsernameFilters {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Value("${username-filter.fpp:0.01}")
+    private double fpp;
+
+    // Sized for this many times the current row count, so writes until the next rebuild keep the rate near fpp
+    @Value("${username-filter.headroom:2}")
+    private int headroom;
+
+    @Value("${username-filter.min-expected-insertions:10000}")
+    private long minExpectedInsertions;
+
+    @Value("${student.search.index.load-chunk-size:5000}")
+    private int loadChunkSize;
+
+    private final UsernameFilter students = new UsernameFilter();
+    private final UsernameFilter admins = new UsernameFilter();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${username-filter.rebuild-interval-ms:600000}",
+            fixedDelayString = "${username-filter.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        students.rebuild(expectedInsertions(studentRepository.count()), fpp, add -> {
+            long afterId = 0L;
+            List<StudentRepository.SearchIndexView> chunk;
+            do {
+                chunk = studentRepository.findSearchIndexChunk(afterId, Limit.of(loadChunkSize));
+                for (StudentRepository.SearchIndexView view : chunk) {
+                    add.accept(view.getUsername());
+                    afterId = view.getId();
+                }
+            } while (chunk.size() == loadChunkSize);
+        });
+        admins.rebuild(expectedInsertions(adminRepository.count()), fpp, add -> {
+            for (AdminRepository.TokenVersionView admin : adminRepository.findAllBy()) {
+                add.accept(admin.getUsername());
+            }
+        });
+    }
+
+    public UsernameFilter students() {
+        return students;
+    }
+
+    public UsernameFilter admins() {
+        return admins;
+    }
+
+    private long expectedInsertions(long rows) {
+        return Math.max(minExpectedInsertions, rows * headroom);
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory trigram posting lists over student usernames, matching the semantics of
+ * {@link StudentRepository#searchStudents}: case-insensitive username substring or id substring.
+ * Loaded in the background at startup (searches use the database until it is ready), kept current
+ * by {@link StudentIndexListener} and the JDBC batch writer, and rebuilt periodically to pick up
+ * writes made by other nodes.
+ */
+@Component
+public class UsernameTrigramIndex {
+
+    private static final int GRAM = 3;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Value("${student.search.index.load-chunk-size:5000}")
+    private int loadChunkSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held across the database load, so not a monitor: it would pin a virtual thread's carrier
+    private final Lock rebuildLock = new ReentrantLock();
+
+    // Guarded by lock
+    private Postings postings = new Postings();
+    private List<Consumer<Postings>> changesDuringRebuild;
+    private boolean ready;
+
+    // First run on the scheduler as soon as the context starts, so a large table does not hold up readiness
+    @Scheduled(initialDelayString = "${student.search.index.initial-delay-ms:0}",
+            fixedDelayString = "${student.search.index.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            write(() -> changesDuringRebuild = new ArrayList<>());
+            Postings fresh = new Postings();
+            try {
+                long afterId = 0L;
+                List<StudentRepository.SearchIndexView> chunk;
+                do {
+                    chunk = studentRepository.findSearchIndexChunk(afterId, Limit.of(loadChunkSize));
+                    for (StudentRepository.SearchIndexView view : chunk) {
+                        fresh.put(view.getId(), view.getUsername(), view.getLevel());
+                        afterId = view.getId();
+                    }
+                } while (chunk.size() == loadChunkSize);
+            } catch (RuntimeException e) {
+                write(() -> changesDuringRebuild = null);
+                throw e;
+            }
+            write(() -> {
+                // Replay writes committed while loading, in order, so none are lost
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                changesDuringRebuild = null;
+                postings = fresh;
+                ready = true;
+            });
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long id, String username, Level level) {
+        apply(p -> p.put(id, username, level));
+    }
+
+    public void remove(Long id) {
+        apply(p -> p.remove(id));
+    }
+
+    /**
+     * Ids of the requested page of students whose username or id contains the term, optionally
+     * limited to one level. Empty when the index is not loaded yet or the sort is not one of
+     * id, username or level, in which case the caller should query the database.
+     */
+    public Optional<Page<Long>> search(String term, Level level, Pageable pageable) {
+        Optional<Comparator<Entry>> comparator = comparatorFor(pageable.getSort());
+        if (comparator.isEmpty()) {
+            return Optional.empty();
+        }
+        String needle = term.toLowerCase(Locale.ROOT);
+
+        List<Entry> matches;
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            matches = postings.find(needle, level);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(comparator.get());
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Long> ids = new ArrayList<>(to - from);
+        for (Entry entry : matches.subList(from, to)) {
+            ids.add(entry.id);
+        }
+        return Optional.of(new PageImpl<>(ids, pageable, matches.size()));
+    }
+
+    private void apply(Consumer<Postings> change) {
+        write(() -> {
+            change.accept(postings);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        });
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Optional<Comparator<Entry>> comparatorFor(Sort sort) {
+        Comparator<Entry> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Entry> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(entry -> entry.id);
+                // The column collation is case-insensitive, so order by the lowercased name
+                case "username" -> Comparator.comparing(entry -> entry.username);
+                // Stored as the enum name, so the database orders it alphabetically
+                case "level" -> Comparator.comparing(entry -> entry.level.name());
+                default -> null;
+            };
+            if (next == null) {
+                return Optional.empty();
+            }
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Entry> byId = Comparator.comparing(entry -> entry.id);
+        return Optional.of(comparator == null ? byId : comparator.thenComparing(byId));
+    }
+
+    private record Entry(Long id, String username, Level level) {
+    }
+
+    private static final class Postings {
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<String, Set<Long>> grams = new HashMap<>();
+
+        void put(Long id, String username, Level level) {
+            remove(id);
+            Entry entry = new Entry(id, username.toLowerCase(Locale.ROOT), level);
+            entries.put(id, entry);
+            for (String gram : gramsOf(entry.username)) {
+                grams.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+            }
+        }
+
+        void remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String gram : gramsOf(entry.username)) {
+                Set<Long> ids = grams.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+
+        List<Entry> find(String needle, Level level) {
+            List<Entry> matches = new ArrayList<>();
+            for (Long id : candidates(needle)) {
+                Entry entry = entries.get(id);
+                if (entry != null && hasLevel(entry, level) && entry.username.contains(needle)) {
+                    matches.add(entry);
+                }
+            }
+            if (isDigits(needle)) {
+                // Id matches are not in the username postings
+                for (Entry entry : entries.values()) {
+                    if (hasLevel(entry, level) && !entry.username.contains(needle)
+                            && String.valueOf(entry.id).contains(needle)) {
+                        matches.add(entry);
+                    }
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Ids sharing every trigram of the needle, smallest posting list first;
+         * every id when the needle is too short to have a trigram
+         */
+        private Collection<Long> candidates(String needle) {
+            if (needle.length() < GRAM) {
+                return entries.keySet();
+            }
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : gramsOf(needle)) {
+                Set<Long> ids = grams.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            List<Long> result = new ArrayList<>();
+            for (Long id : lists.get(0)) {
+                boolean inAll = true;
+                for (int i = 1; i < lists.size() && inAll; i++) {
+                    inAll = lists.get(i).contains(id);
+                }
+                if (inAll) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+
+        private static boolean hasLevel(Entry entry, Level level) {
+            return level == null || entry.level == level;
+        }
+
+        private static boolean isDigits(String value) {
+            return !value.isEmpty() && value.chars().allMatch(Character::isDigit);
+        }
+
+        private static Set<String> gramsOf(String value) {
+            Set<String> result = new HashSet<>();
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                result.add(value.substring(i, i + GRAM));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.testtechnique.reactive;
+
+import com.example.testtechnique.config.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveJwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private ReactiveAdminTokenVersions tokenVersions;
+
+    private ReactiveJwtAuthenticationFilter filter;
+    private final AtomicReference<Authentication> seen = new AtomicReference<>();
+    private final WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .doOnNext(seen::set)
+            .then();
+
+    @BeforeEach
+    void setUp() {
+        filter = new ReactiveJwtAuthenticationFilter(jwtUtil, tokenVersions);
+    }
+
+    @Test
+    void testFilter_AuthenticatesCurrentToken() {
+        // Given
+        when(jwtUtil.extractUsername("token")).thenReturn("admin");
+        when(jwtUtil.extractTokenVersion("token")).thenReturn(3);
+        when(jwtUtil.extractAuthorities("token")).thenReturn(List.of("ROLE_ADMIN"));
+        when(tokenVersions.isCurrent("admin", 3)).thenReturn(Mono.just(true));
+        when(jwtUtil.validateToken(eq("token"), any())).thenReturn(true);
+
+        // When
+        StepVerifier.create(filter.filter(exchange("Bearer token"), chain)).verifyComplete();
+
+        // Then
+        assertNotNull(seen.get());
+        assertEquals("admin", seen.get().getName());
+        assertEquals("ROLE_ADMIN", seen.get().getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void testFilter_RevokedTokenStaysUnauthenticated() {
+        // Given
+        when(jwtUtil.extractUsername("token")).thenReturn("admin");
+        when(jwtUtil.extractTokenVersion("token")).thenReturn(2);
+        when(jwtUtil.extractAuthorities("token")).thenReturn(List.of("ROLE_ADMIN"));
+        when(tokenVersions.isCurrent("admin", 2)).thenReturn(Mono.just(false));
+
+        // When
+        StepVerifier.create(filter.filter(exchange("Bearer token"), chain)).verifyComplete();
+
+        // Then
+        assertNull(seen.get());
+        verify(jwtUtil, never()).validateToken(any(), any());
+    }
+
+    @Test
+    void testFilter_NoHeaderPassesThrough() {
+        // When
+        StepVerifier.create(filter.filter(exchange(null), chain)).verifyComplete();
+
+        // Then
+        assertNull(seen.get());
+        verifyNoInteractions(jwtUtil, tokenVersions);
+    }
+
+    private MockServerWebExchange exchange(String authorization) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/students");
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.testtechnique.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-blocking counterpart of {@code AdminTokenVersionService}: admin token versions kept in
+ * memory, refreshed on a schedule and re-read for unknown admins or newer tokens.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAdminTokenVersions {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private volatile Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${security.jwt.token-version-refresh-ms:30000}")
+    public void refresh() {
+        databaseClient.sql("SELECT username, token_version FROM admins")
+                .map((row, metadata) -> Map.entry(row.get("username", String.class), row.get("token_version", Integer.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, ConcurrentHashMap::new)
+                .subscribe(fresh -> versions = fresh);
+    }
+
+    /**
+     * Check a token's version claim, as {@code AdminTokenVersionService#isCurrent} does
+     */
+    public Mono<Boolean> isCurrent(String username, int tokenVersion) {
+        Integer known = versions.get(username);
+        if (known != null && tokenVersion <= known) {
+            return Mono.just(known == tokenVersion);
+        }
+        return reload(username)
+                .map(version -> version == tokenVersion)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Whether the admin exists, for tokens that carry no version claim
+     */
+    public Mono<Boolean> exists(String username) {
+        return versions.containsKey(username) ? Mono.just(true) : reload(username).hasElement();
+    }
+
+    private Mono<Integer> reload(String username) {
+        return databaseClient.sql("SELECT token_version FROM admins WHERE username = :username")
+                .bind("username", username)
+                .map((row, metadata) -> row.get("token_version", Integer.class))
+                .one()
+                .doOnNext(version -> versions.put(username, version));
+    }
+}
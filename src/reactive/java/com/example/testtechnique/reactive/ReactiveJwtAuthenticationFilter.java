@@ -0,0 +1,85 @@
+package com.example.testtechnique.reactive;
+
+import com.example.testtechnique.config.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive equivalent of {@code JwtAuthenticationFilter}: verifies the bearer token, checks its
+ * version against {@link ReactiveAdminTokenVersions} and puts the authentication in the
+ * reactive security context. Requests with no valid token continue unauthenticated.
+ * Not a bean: WebFlux would also apply every WebFilter bean outside the security chain.
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveJwtAuthenticationFilter.class);
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveAdminTokenVersions tokenVersions;
+
+    public ReactiveJwtAuthenticationFilter(JwtUtil jwtUtil, ReactiveAdminTokenVersions tokenVersions) {
+        this.jwtUtil = jwtUtil;
+        this.tokenVersions = tokenVersions;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        String jwt = authorizationHeader.substring(7);
+        String username;
+        try {
+            username = jwtUtil.extractUsername(jwt);
+        } catch (Exception e) {
+            log.error("JWT token validation failed", e);
+            return chain.filter(exchange);
+        }
+
+        return authenticate(jwt, username)
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    private Mono<Authentication> authenticate(String jwt, String username) {
+        Integer tokenVersion = jwtUtil.extractTokenVersion(jwt);
+        List<String> authorities = tokenVersion != null ? jwtUtil.extractAuthorities(jwt) : null;
+
+        Mono<UserDetails> userDetails;
+        if (authorities != null) {
+            // Trust the verified claims, only the token version is checked
+            userDetails = tokenVersions.isCurrent(username, tokenVersion)
+                    .filter(Boolean::booleanValue)
+                    .map(current -> User.withUsername(username)
+                            .password("")
+                            .authorities(authorities.toArray(new String[0]))
+                            .build());
+        } else {
+            userDetails = tokenVersions.exists(username)
+                    .filter(Boolean::booleanValue)
+                    .map(exists -> User.withUsername(username)
+                            .password("")
+                            .authorities("ROLE_ADMIN")
+                            .build());
+        }
+
+        return userDetails
+                .filter(user -> jwtUtil.validateToken(jwt, user))
+                .map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
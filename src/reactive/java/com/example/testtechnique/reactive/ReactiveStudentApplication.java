@@ -0,0 +1,28 @@
+package com.example.testtechnique.reactive;
+
+import com.example.testtechnique.config.JwtUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Entry point of the reactive read API (built with -Preactive): serves GET /api/students on Netty
+ * from R2DBC, accepting the tokens issued by the servlet application (same jwt.secret).
+ * Only this package is scanned, and application-reactive.properties keeps the JDBC/JPA stack off.
+ */
+@SpringBootApplication(scanBasePackages = "com.example.testtechnique.reactive")
+// Ignored when the servlet application scans this package
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import(JwtUtil.class)
+@EnableScheduling
+public class ReactiveStudentApplication {
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveStudentApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.testtechnique.reactive;
+
+import com.example.testtechnique.Controllers.dto.ApiResponse;
+import com.example.testtechnique.Controllers.dto.PageResponse;
+import com.example.testtechnique.Controllers.dto.StudentResponse;
+import com.example.testtechnique.entities.Level;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Read side of {@code StudentController} on WebFlux. Listings answer application/json with the
+ * same ApiResponse envelope, or stream one student per line for Accept: application/x-ndjson.
+ */
+@RestController
+@RequestMapping("/api/students")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStudentController {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    private ReactiveStudentService studentService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<PageResponse<StudentResponse>>>> getAllStudents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Level level) {
+
+        return Mono.defer(() -> {
+                    Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+                    // Rows and total are fetched concurrently on separate connections
+                    return Mono.zip(
+                            studentService.findStudents(search, level, pageable).map(this::toResponse).collectList(),
+                            studentService.countStudents(search, level),
+                            (content, total) -> {
+                                int totalPages = size == 0 ? 1 : (int) Math.ceil((double) total / size);
+                                return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(
+                                        new PageResponse<>(content, page, size, page + 1 < totalPages, total, totalPages, true)));
+                            });
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()))))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error("Error retrieving students: " + e.getMessage()))));
+    }
+
+    /**
+     * Same listing without a total, written out row by row as results arrive
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentResponse> streamStudents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Level level) {
+
+        return Flux.defer(() -> studentService.findStudents(search, level, PageRequest.of(page, size, Sort.by(direction, sortBy))))
+                .map(this::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponse<StudentResponse>>> getStudentById(@PathVariable Long id, ServerWebExchange exchange) {
+        return studentService.getStudentById(id)
+                .map(student -> {
+                    Instant lastModified = student.getUpdatedAt() != null
+                            ? student.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant()
+                            : null;
+                    String etag = "\"student-" + student.getId() + "-" + (lastModified != null ? lastModified.toEpochMilli() : -1) + "\"";
+                    boolean notModified = lastModified != null
+                            ? exchange.checkNotModified(etag, lastModified)
+                            : exchange.checkNotModified(etag);
+                    if (notModified) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE)
+                                .<ApiResponse<StudentResponse>>build();
+                    }
+                    return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(toResponse(student)));
+                })
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Student not found with id: " + id)))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error("Error retrieving student: " + e.getMessage()))));
+    }
+
+    private StudentResponse toResponse(StudentRow student) {
+        return new StudentResponse(
+                student.getId(),
+                student.getUsername(),
+                student.getLevel(),
+                student.getCreatedAt(),
+                student.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.testtechnique.reactive;
+
+import com.example.testtechnique.entities.Level;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveStudentRepository extends R2dbcRepository<StudentRow, Long> {
+
+    Flux<StudentRow> findAllBy(Pageable pageable);
+
+    Flux<StudentRow> findByLevel(Level level, Pageable pageable);
+
+    Mono<Long> countByLevel(Level level);
+}
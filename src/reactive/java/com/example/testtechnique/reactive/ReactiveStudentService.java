@@ -0,0 +1,108 @@
+package com.example.testtechnique.reactive;
+
+import com.example.testtechnique.entities.Level;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStudentService {
+
+    // Sortable properties and their columns
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "username", "username",
+            "level", "level",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    // Same match as StudentRepository#searchStudents: username or id substring
+    private static final String SEARCH_FILTER = "(LOWER(username) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR CAST(id AS CHAR) LIKE CONCAT('%', :search, '%'))";
+
+    @Autowired
+    private ReactiveStudentRepository studentRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<StudentRow> getStudentById(Long id) {
+        return studentRepository.findById(id);
+    }
+
+    /**
+     * Rows of the requested page, emitted as the driver decodes them
+     */
+    public Flux<StudentRow> findStudents(String search, Level level, Pageable pageable) {
+        checkSort(pageable.getSort());
+        boolean searching = search != null && !search.isEmpty();
+        if (searching) {
+            String sql = "SELECT id, username, level, created_at, updated_at FROM students WHERE "
+                    + searchWhere(level) + orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset";
+            return bindSearch(databaseClient.sql(sql), search, level)
+                    .bind("limit", pageable.getPageSize())
+                    .bind("offset", pageable.getOffset())
+                    .map((row, metadata) -> new StudentRow(
+                            row.get("id", Long.class),
+                            row.get("username", String.class),
+                            Level.valueOf(row.get("level", String.class)),
+                            row.get("created_at", LocalDateTime.class),
+                            row.get("updated_at", LocalDateTime.class)))
+                    .all();
+        } else if (level != null) {
+            return studentRepository.findByLevel(level, pageable);
+        }
+        return studentRepository.findAllBy(pageable);
+    }
+
+    public Mono<Long> countStudents(String search, Level level) {
+        boolean searching = search != null && !search.isEmpty();
+        if (searching) {
+            return bindSearch(databaseClient.sql("SELECT COUNT(*) FROM students WHERE " + searchWhere(level)), search, level)
+                    .map((row, metadata) -> row.get(0, Long.class))
+                    .one();
+        } else if (level != null) {
+            return studentRepository.countByLevel(level);
+        }
+        return studentRepository.count();
+    }
+
+    private static String searchWhere(Level level) {
+        return level != null ? SEARCH_FILTER + " AND level = :level" : SEARCH_FILTER;
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindSearch(DatabaseClient.GenericExecuteSpec spec, String search,
+                                                                Level level) {
+        spec = spec.bind("search", search);
+        return level != null ? spec.bind("level", level.name()) : spec;
+    }
+
+    /**
+     * ORDER BY for a sort already checked by {@link #checkSort}
+     */
+    private static String orderBy(Sort sort) {
+        StringJoiner orders = new StringJoiner(", ", " ORDER BY ", "").setEmptyValue("");
+        for (Sort.Order order : sort) {
+            orders.add(SORT_COLUMNS.get(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return orders.toString();
+    }
+
+    private void checkSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORT_COLUMNS.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort by: " + order.getProperty());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.testtechnique.reactive;
+
+import com.example.testtechnique.entities.Level;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the students table (the schema itself is owned by the JPA entity)
+ */
+@Table("students")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentRow {
+
+    @Id
+    private Long id;
+
+    private String username;
+
+    private Level level;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
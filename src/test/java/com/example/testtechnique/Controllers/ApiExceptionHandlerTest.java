@@ -0,0 +1,149 @@
+package com.example.testtechnique.Controllers;
+
+import com.example.testtechnique.Controllers.dto.ApiResponse;
+import com.example.testtechnique.config.PasswordHashingRejectedException;
+import com.example.testtechnique.exceptions.DomainException;
+import com.example.testtechnique.exceptions.DuplicateUsernameException;
+import com.example.testtechnique.exceptions.InvalidStateException;
+import com.example.testtechnique.exceptions.ResourceNotFoundException;
+import com.example.testtechnique.services.AdminService;
+import com.example.testtechnique.services.ImportJobService;
+import com.example.testtechnique.services.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ApiExceptionHandlerTest {
+
+    @Mock
+    private StudentService studentService;
+
+    @Mock
+    private ImportJobService importJobService;
+
+    @Mock
+    private AdminService adminService;
+
+    @InjectMocks
+    private StudentController studentController;
+
+    @InjectMocks
+    private AuthController authController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(studentController, authController)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testResourceNotFound_Returns404() throws Exception {
+        // Given
+        doThrow(new ResourceNotFoundException("Student not found with id: 99")).when(studentService).deleteStudent(99L);
+
+        // When / Then
+        mockMvc.perform(delete("/api/students/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Student not found with id: 99"));
+    }
+
+    @Test
+    void testDuplicateUsername_Returns409() throws Exception {
+        // Given
+        when(studentService.updateStudent(eq(1L), any())).thenThrow(new DuplicateUsernameException());
+
+        // When / Then
+        mockMvc.perform(put("/api/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"alice\",\"level\":\"BEGINNER\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Username already exists"));
+    }
+
+    @Test
+    void testInvalidState_Returns409() throws Exception {
+        // Given
+        when(importJobService.resume("job-1")).thenThrow(new InvalidStateException("Import job has not failed: job-1"));
+
+        // When / Then
+        mockMvc.perform(post("/api/students/import/job-1/resume"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Import job has not failed: job-1"));
+    }
+
+    @Test
+    void testRevokeUnknownAdmin_Returns404() throws Exception {
+        // Given
+        doThrow(new ResourceNotFoundException("Admin not found with username: ghost"))
+                .when(adminService).revokeTokens("ghost");
+
+        // When / Then
+        mockMvc.perform(post("/api/auth/revoke")
+                        .principal(new UsernamePasswordAuthenticationToken("ghost", null, List.of())))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Admin not found with username: ghost"));
+    }
+
+    @Test
+    void testHashingRejected_Returns503WithRetryAfter() throws Exception {
+        // Given
+        when(adminService.existsByUsername("newadmin")).thenReturn(false);
+        doThrow(new PasswordHashingRejectedException("Too many concurrent authentication requests"))
+                .when(adminService).registerAdmin("newadmin", "password123");
+
+        // When / Then
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"newadmin\",\"password\":\"password123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.message").value("Too many concurrent authentication requests"));
+    }
+
+    @Test
+    void testOtherDomainException_Returns400() {
+        // Given
+        ApiExceptionHandler handler = new ApiExceptionHandler();
+        DomainException e = new DomainException("Rejected") {
+        };
+
+        // When
+        ResponseEntity<ApiResponse<Void>> response = handler.handleDomain(e);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+        assertEquals("Rejected", response.getBody().getMessage());
+    }
+}
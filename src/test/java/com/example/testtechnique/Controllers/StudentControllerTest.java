@@ -0,0 +1,102 @@
+package com.example.testtechnique.Controllers;
+
+import com.example.testtechnique.Controllers.dto.ApiResponse;
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.services.CountMode;
+import com.example.testtechnique.services.StudentService;
+import com.example.testtechnique.services.StudentTableVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentControllerTest {
+
+    @Mock
+    private StudentService studentService;
+
+    @InjectMocks
+    private StudentController studentController;
+
+    private long lastModifiedMillis;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        lastModifiedMillis = updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Student student = new Student(1L, "alice", Level.BEGINNER, updatedAt, updatedAt);
+        when(studentService.getTableVersion()).thenReturn(new StudentTableVersion("a1b2c3d4", 1));
+        lenient().when(studentService.getAllStudents(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(student)));
+    }
+
+    @Test
+    void testGetAllStudents_NotModifiedForMatchingETag() {
+        // Given
+        String etag = list(get()).getHeaders().getETag();
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        // When
+        ResponseEntity<ApiResponse<?>> response = list(request);
+
+        // Then
+        assertNotNull(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(studentService, times(1)).getAllStudents(any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllStudents_IfModifiedSinceAloneIsNotEnough() {
+        // Given: a delete leaves MAX(updated_at) unchanged, so the date cannot prove the page is current
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModifiedMillis + 60_000);
+
+        // When
+        ResponseEntity<ApiResponse<?>> response = list(request);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(-1, response.getHeaders().getLastModified());
+        verify(studentService, times(1)).getAllStudents(any(Pageable.class));
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/students");
+    }
+
+    private ResponseEntity<ApiResponse<?>> list(MockHttpServletRequest request) {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ResponseEntity<ApiResponse<?>> response = studentController.getAllStudents(0, 10, "id", Sort.Direction.ASC,
+                null, null, CountMode.EXACT, null, new ServletWebRequest(request, servletResponse));
+        // checkNotModified writes the ETag to the servlet response rather than the ResponseEntity
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        for (String name : servletResponse.getHeaderNames()) {
+            headers.addAll(name, servletResponse.getHeaders(name));
+        }
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+}
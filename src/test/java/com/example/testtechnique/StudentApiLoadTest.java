@@ -0,0 +1,276 @@
+package com.example.testtechnique;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.services.AdminService;
+import com.example.testtechnique.services.StudentBatchWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Capacity test: boots the application on embedded H2 (MySQL mode) seeded with {@code load.students}
+ * students, then sends a fixed mix of auth and student requests at a fixed arrival rate and prints
+ * throughput and p50/p95/p99/p99.9 latency per endpoint. Requests are sent on schedule whether or not
+ * earlier ones have completed, and latency is measured from the scheduled send time, so a saturated
+ * server shows up as growing latencies instead of a lower request rate.
+ * Run with: mvn -Pload-test test -Dtest=StudentApiLoadTest
+ *   [-Dload.students=10000] [-Dload.rate=100] [-Dload.duration-seconds=60] [-Dload.warmup-seconds=10]
+ *   [-Dload.mix=login:1,list:20,search:15,get:30,create:10,update:10,delete:5,export:1,import:1]
+ *   [-Dload.import-rows=100]
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load-test")
+class StudentApiLoadTest {
+
+    private static final String ADMIN_USERNAME = "loadadmin";
+    private static final String ADMIN_PASSWORD = "load-test-password";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private enum Endpoint {
+        LOGIN, LIST, SEARCH, GET, CREATE, UPDATE, DELETE, EXPORT, IMPORT
+    }
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private StudentBatchWriter studentBatchWriter;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private HttpClient client;
+    private String token;
+    private final Random random = new Random(42);
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Test
+    void measureLatencyPerEndpoint() throws Exception {
+        int students = Integer.getInteger("load.students", 10_000);
+        int rate = Integer.getInteger("load.rate", 100);
+        int durationSeconds = Integer.getInteger("load.duration-seconds", 60);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+        int importRows = Integer.getInteger("load.import-rows", 100);
+        Map<Endpoint, Integer> mix = parseMix(System.getProperty("load.mix",
+                "login:1,list:20,search:15,get:30,create:10,update:10,delete:5,export:1,import:1"));
+
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long totalRequests = (long) rate * (warmupSeconds + durationSeconds);
+        // Deletes consume seeded students from the end, so gets and updates never hit a deleted id
+        long deletable = totalRequests * mix.getOrDefault(Endpoint.DELETE, 0) / totalWeight * 2 + 1;
+        assertTrue(deletable <= students / 2,
+                "load.students is too small for the number of deletes at this rate and duration");
+
+        List<Student> seeded = seed(students);
+        adminService.registerAdmin(ADMIN_USERNAME, ADMIN_PASSWORD);
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        token = login();
+
+        int readable = students - (int) deletable;
+        AtomicInteger nextDeleted = new AtomicInteger(students);
+        Map<Endpoint, List<Long>> latencies = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, AtomicInteger> errors = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, Collections.synchronizedList(new ArrayList<>()));
+            errors.put(endpoint, new AtomicInteger());
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (long i = 0; i < totalRequests; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = pick(mix, totalWeight);
+            Student target = seeded.get(random.nextInt(readable));
+            HttpRequest request = switch (endpoint) {
+                case LOGIN -> post("/api/auth/login",
+                        "{\"username\":\"" + ADMIN_USERNAME + "\",\"password\":\"" + ADMIN_PASSWORD + "\"}");
+                case LIST -> get("/api/students?page=" + random.nextInt(Math.max(1, students / 20)) + "&size=20");
+                case SEARCH -> get("/api/students?search=student" + random.nextInt(1000) + "&size=20");
+                case GET -> get("/api/students/" + target.getId());
+                case CREATE -> post("/api/students",
+                        "{\"username\":\"created" + sequence.incrementAndGet() + "\",\"level\":\"" + level(random) + "\"}");
+                case UPDATE -> authorized("/api/students/" + target.getId())
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                "{\"username\":\"" + target.getUsername() + "\",\"level\":\"" + level(random) + "\"}"))
+                        .build();
+                case DELETE -> authorized("/api/students/" + seeded.get(nextDeleted.decrementAndGet()).getId())
+                        .DELETE()
+                        .build();
+                case EXPORT -> get("/api/students/export");
+                case IMPORT -> importRequest(importRows);
+            };
+
+            boolean measured = scheduled >= measureFrom;
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (!measured) {
+                            return;
+                        }
+                        latencies.get(endpoint).add(System.nanoTime() - scheduled);
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.get(endpoint).incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(failure -> null)
+                .get(5, TimeUnit.MINUTES);
+
+        int totalErrors = report(students, rate, durationSeconds, latencies, errors);
+        assertEquals(0, totalErrors, "Requests failed during the load test; see the table above");
+    }
+
+    private List<Student> seed(int students) {
+        Level[] levels = Level.values();
+        List<Student> seeded = new ArrayList<>(students);
+        List<Student> chunk = new ArrayList<>(1000);
+        for (int i = 0; i < students; i++) {
+            Student student = new Student();
+            student.setUsername("student" + i);
+            student.setLevel(levels[i % levels.length]);
+            chunk.add(student);
+            if (chunk.size() == 1000 || i == students - 1) {
+                // Ids are assigned by the writer, and the search index and username filter are kept current
+                studentBatchWriter.insertBatch(chunk);
+                seeded.addAll(chunk);
+                chunk = new ArrayList<>(1000);
+            }
+        }
+        return seeded;
+    }
+
+    private String login() throws Exception {
+        HttpResponse<String> response = client.send(post("/api/auth/login",
+                        "{\"username\":\"" + ADMIN_USERNAME + "\",\"password\":\"" + ADMIN_PASSWORD + "\"}"),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        Matcher matcher = TOKEN.matcher(response.body());
+        assertTrue(matcher.find(), "No token in the login response");
+        return matcher.group(1);
+    }
+
+    private HttpRequest importRequest(int rows) {
+        String boundary = "load-test-boundary";
+        StringBuilder body = new StringBuilder()
+                .append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"file\"; filename=\"students.csv\"\r\n")
+                .append("Content-Type: text/csv\r\n\r\n")
+                .append("username,level\n");
+        long batch = sequence.incrementAndGet();
+        for (int i = 0; i < rows; i++) {
+            body.append("imported").append(batch).append('x').append(i).append(',').append(level(random)).append('\n');
+        }
+        body.append("\r\n--").append(boundary).append("--\r\n");
+        return authorized("/api/students/import")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return authorized(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private Endpoint pick(Map<Endpoint, Integer> mix, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty load.mix");
+    }
+
+    private static Level level(Random random) {
+        Level[] levels = Level.values();
+        return levels[random.nextInt(levels.length)];
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            weights.put(Endpoint.valueOf(entry[0].trim().toUpperCase()), Integer.parseInt(entry[1].trim()));
+        }
+        return weights;
+    }
+
+    private int report(int students, int rate, int durationSeconds,
+                       Map<Endpoint, List<Long>> latencies, Map<Endpoint, AtomicInteger> errors) {
+        System.out.printf("%d students seeded, %d req/s offered for %d s%n", students, rate, durationSeconds);
+        System.out.printf("%-8s %9s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "errors");
+        int totalErrors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            List<Long> sorted = new ArrayList<>(latencies.get(endpoint));
+            if (sorted.isEmpty()) {
+                continue;
+            }
+            Collections.sort(sorted);
+            int failed = errors.get(endpoint).get();
+            totalErrors += failed;
+            System.out.printf("%-8s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n",
+                    endpoint.name().toLowerCase(), sorted.size(), sorted.size() / (double) durationSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), failed);
+        }
+        return totalErrors;
+    }
+
+    private double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1);
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
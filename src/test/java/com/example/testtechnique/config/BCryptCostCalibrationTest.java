@@ -0,0 +1,45 @@
+package com.example.testtechnique.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest BCrypt strength whose verification stays under a target latency on this host.
+ * Run with: mvn test -Dtest=BCryptCostCalibrationTest -Dbcrypt.calibrate=true [-Dbcrypt.target-ms=250]
+ */
+@EnabledIfSystemProperty(named = "bcrypt.calibrate", matches = "true")
+class BCryptCostCalibrationTest {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Test
+    void calibrateStrength() {
+        long targetMs = Long.getLong("bcrypt.target-ms", 250L);
+        int recommended = 4;
+
+        System.out.printf("BCrypt calibration, target %d ms per login, %d cores%n",
+                targetMs, Runtime.getRuntime().availableProcessors());
+        for (int strength = 4; strength <= 16; strength++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            String hash = encoder.encode("calibration-password");
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                encoder.matches("calibration-password", hash);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                encoder.matches("calibration-password", hash);
+            }
+            double averageMs = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+            System.out.printf("  strength %2d: %8.1f ms%n", strength, averageMs);
+
+            if (averageMs > targetMs) {
+                break;
+            }
+            recommended = strength;
+        }
+        System.out.printf("Recommended security.password-hashing.bcrypt-strength=%d%n", recommended);
+    }
+}
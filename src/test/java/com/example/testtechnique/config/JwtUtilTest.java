@@ -0,0 +1,123 @@
+package com.example.testtechnique.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private JwtUtil jwtUtil;
+    private UserDetails testAdmin;
+    // JwtUtil times parsing on the global registry, which only counts through an added registry
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+        ReflectionTestUtils.setField(jwtUtil, "secret", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 100);
+
+        testAdmin = User.builder()
+                .username("testadmin")
+                .password("encodedPassword")
+                .authorities("ROLE_ADMIN")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void testValidateToken_Success() {
+        // Given
+        String token = jwtUtil.generateToken(testAdmin);
+
+        // When & Then
+        assertEquals("testadmin", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validateToken(token, testAdmin));
+    }
+
+    @Test
+    void testExtractClaim_ReusesVerifiedClaims() {
+        // Given
+        String token = jwtUtil.generateToken(testAdmin, 3);
+        long parsed = parseCount();
+
+        // When
+        Integer first = jwtUtil.extractTokenVersion(token);
+        Integer second = jwtUtil.extractTokenVersion(token);
+
+        // Then
+        assertEquals(3, first);
+        assertEquals(3, second);
+        assertEquals(parsed + 1, parseCount());
+    }
+
+    @Test
+    void testExtractClaim_ChangesDoNotReachCachedClaims() {
+        // Given
+        String token = jwtUtil.generateToken(testAdmin, 3);
+
+        // When
+        jwtUtil.extractClaim(token, claims -> claims.setSubject("intruder"));
+        jwtUtil.extractClaim(token, claims -> claims.put(JwtUtil.TOKEN_VERSION_CLAIM, 4));
+
+        // Then
+        assertEquals("testadmin", jwtUtil.extractUsername(token));
+        assertEquals(3, jwtUtil.extractTokenVersion(token));
+        assertThrows(UnsupportedOperationException.class, () -> jwtUtil.extractAuthorities(token).add("ROLE_ROOT"));
+    }
+
+    @Test
+    void testExtractUsername_TamperedToken() {
+        // Given
+        String token = jwtUtil.generateToken(testAdmin);
+        int i = token.length() - 10;
+        String tampered = token.substring(0, i)
+                + (token.charAt(i) == 'A' ? 'B' : 'A')
+                + token.substring(i + 1);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtUtil.extractUsername(tampered));
+    }
+
+    @Test
+    void testExtractUsername_ExpiredCachedToken() {
+        // Given
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 2000L);
+        String token = jwtUtil.generateToken(testAdmin);
+        assertEquals("testadmin", jwtUtil.extractUsername(token));
+
+        // When
+        ReflectionTestUtils.setField(jwtUtil, "clock", Clock.fixed(NOW.plusMillis(2100), ZoneOffset.UTC));
+
+        // Then
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.extractUsername(token));
+    }
+
+    private long parseCount() {
+        Timer timer = meterRegistry.find("jwt.operations").tag("operation", "parse").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
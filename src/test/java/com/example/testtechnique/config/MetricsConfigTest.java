@@ -0,0 +1,60 @@
+package com.example.testtechnique.config;
+
+import com.example.testtechnique.exceptions.ResourceNotFoundException;
+import com.example.testtechnique.services.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    private StudentService target;
+
+    private SimpleMeterRegistry registry;
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(MetricsConfig.studentServiceTimingAdvisor(beanFactory.getBeanProvider(MeterRegistry.class)));
+        studentService = (StudentService) factory.getProxy();
+    }
+
+    @Test
+    void testStudentServiceTiming_TagsMethodAndOutcome() {
+        // Given
+        when(target.getStudentById(1L)).thenThrow(new ResourceNotFoundException("Student not found with id: 1"));
+
+        // When
+        studentService.getAllStudents(Pageable.unpaged());
+        studentService.getAllStudents(Pageable.unpaged());
+        assertThrows(ResourceNotFoundException.class, () -> studentService.getStudentById(1L));
+
+        // Then
+        Timer listing = registry.find("students.service").tags("method", "getAllStudents", "exception", "none").timer();
+        Timer failed = registry.find("students.service")
+                .tags("method", "getStudentById", "exception", "ResourceNotFoundException").timer();
+        assertNotNull(listing);
+        assertEquals(2, listing.count());
+        assertNotNull(failed);
+        assertEquals(1, failed.count());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.testtechnique.config;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; each one
+ * answers with its own name, so the tests see where a transaction was routed.
+ * Transactions go through Hibernate and JpaTransactionManager, as @Transactional does in the application.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private ReplicaLagMonitor lagMonitor;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        lagMonitor = new ReplicaLagMonitor(replica);
+        ReflectionTestUtils.setField(lagMonitor, "maxLagSeconds", 5L);
+        ReflectionTestUtils.setField(lagMonitor, "readAfterWriteMs", 0L);
+        ReflectionTestUtils.setField(lagMonitor, "lagCheckEnabled", true);
+
+        DataSource routing = DataSourceConfig.routingDataSource(primary, replica, lagMonitor);
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(routing);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setManagedTypes(PersistenceManagedTypes.of(NodeRow.class.getName()));
+        factory.setJpaPropertyMap(Map.of(AvailableSettings.HBM2DDL_AUTO, "none"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        setup.execute("DELETE FROM node");
+        setup.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String currentNode() {
+        return entityManager.createQuery("SELECT n.name FROM RoutingNode n", String.class).getSingleResult();
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesReplica() {
+        // When
+        String readOnlyNode = readOnly.execute(status -> currentNode());
+        String readWriteNode = readWrite.execute(status -> currentNode());
+
+        // Then
+        assertEquals("replica", readOnlyNode);
+        assertEquals("primary", readWriteNode);
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    void testReadOnlyTransaction_UsesPrimaryForPrimaryReads() {
+        // Given
+        ReflectionTestUtils.setField(lagMonitor, "readAfterWriteMs", 60000L);
+
+        // When
+        String node = readOnly.execute(status -> PrimaryReads.run(this::currentNode));
+        String nextNode = readOnly.execute(status -> currentNode());
+
+        // Then: the primary read did not count as a write, so later reads still use the replica
+        assertEquals("primary", node);
+        assertEquals("replica", nextNode);
+    }
+
+    @Test
+    void testReadOnlyTransaction_StaysOnPrimaryRightAfterWrite() {
+        // Given
+        ReflectionTestUtils.setField(lagMonitor, "readAfterWriteMs", 60000L);
+
+        // When
+        readWrite.executeWithoutResult(status ->
+                entityManager.createQuery("UPDATE RoutingNode n SET n.name = n.name").executeUpdate());
+        String node = readOnly.execute(status -> currentNode());
+
+        // Then
+        assertEquals("primary", node);
+    }
+
+    @Test
+    void testReadOnlyTransaction_StaysOnPrimaryWhenLagUnknown() {
+        // Given: H2 has no replica status, so the lag cannot be read
+        lagMonitor.checkLag();
+
+        // When
+        String node = readOnly.execute(status -> currentNode());
+
+        // Then
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", node);
+    }
+
+    @Entity(name = "RoutingNode")
+    @Table(name = "node")
+    static class NodeRow {
+
+        @Id
+        String name;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.testtechnique.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives a running instance with a fixed number of concurrent clients and prints throughput and
+ * latency percentiles. Run it once against the app started normally and once against
+ * mvn -Pvirtual-threads spring-boot:run, then compare. The same run against the reactive
+ * application (-Preactive, port 8090) compares it head to head with the servlet stack;
+ * -Dload.accept=application/x-ndjson measures its streamed listing.
+ * Run with: mvn test -Dtest=VirtualThreadLoadComparisonTest -Dload.compare=true -Dload.token=...
+ *   [-Dload.url=http://localhost:8089/api/students?size=20] [-Dload.accept=application/json]
+ *   [-Dload.concurrency=500] [-Dload.requests=20000]
+ */
+@EnabledIfSystemProperty(named = "load.compare", matches = "true")
+class VirtualThreadLoadComparisonTest {
+
+    @Test
+    void measureThroughput() throws Exception {
+        URI uri = URI.create(System.getProperty("load.url", "http://localhost:8089/api/students?size=20"));
+        String token = System.getProperty("load.token", "");
+        int concurrency = Integer.getInteger("load.concurrency", 500);
+        int requests = Integer.getInteger("load.requests", 20000);
+
+        // The workers block in send(), so the client keeps its own default executor for the responses
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", System.getProperty("load.accept", "application/json"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        List<Future<?>> workers = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(clients.submit(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - sent);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        clients.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%d requests, %d clients: %.0f req/s, p50 %.1f ms, p99 %.1f ms, %d errors%n",
+                sorted.size(), concurrency, sorted.size() / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), errors.get());
+    }
+
+    private double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1);
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
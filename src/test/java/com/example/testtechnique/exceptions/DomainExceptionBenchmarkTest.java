@@ -0,0 +1,60 @@
+package com.example.testtechnique.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.function.Supplier;
+
+/**
+ * Cost of rejecting duplicate usernames the old way (RuntimeException, stack trace filled at the
+ * depth of a request through filters, proxies and the service) and with stackless domain exceptions.
+ * Run with: mvn test -Dtest=DomainExceptionBenchmarkTest -Dexception.benchmark=true
+ *   [-Dexception.benchmark.rows=200000] [-Dexception.benchmark.depth=150]
+ */
+@EnabledIfSystemProperty(named = "exception.benchmark", matches = "true")
+class DomainExceptionBenchmarkTest {
+
+    @Test
+    void compareDuplicateRejection() {
+        int rows = Integer.getInteger("exception.benchmark.rows", 200_000);
+        int depth = Integer.getInteger("exception.benchmark.depth", 150);
+
+        Supplier<RuntimeException> before = () -> new RuntimeException("Username already exists");
+        Supplier<RuntimeException> after = DuplicateUsernameException::new;
+
+        // Warm up both paths before measuring
+        run(before, depth, rows / 10);
+        run(after, depth, rows / 10);
+
+        double beforeNanos = run(before, depth, rows);
+        double afterNanos = run(after, depth, rows);
+        System.out.printf("%d duplicate rows at depth %d: RuntimeException %.0f ns/row, DuplicateUsernameException %.0f ns/row (%.1fx)%n",
+                rows, depth, beforeNanos, afterNanos, beforeNanos / afterNanos);
+    }
+
+    private double run(Supplier<RuntimeException> exception, int depth, int rows) {
+        int rejected = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            try {
+                reject(exception, depth);
+            } catch (RuntimeException e) {
+                // Classified the way ApiExceptionHandler and the import do: by type and message only
+                rejected += e.getMessage().length() > 0 ? 1 : 0;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (rejected != rows) {
+            throw new AssertionError("Expected every row to be rejected");
+        }
+        return (double) elapsed / rows;
+    }
+
+    private void reject(Supplier<RuntimeException> exception, int depth) {
+        if (depth > 0) {
+            reject(exception, depth - 1);
+            return;
+        }
+        throw exception.get();
+    }
+}
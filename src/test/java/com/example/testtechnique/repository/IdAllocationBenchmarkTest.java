@@ -0,0 +1,177 @@
+package com.example.testtechnique.repository;
+
+import com.example.testtechnique.entities.IdSequences;
+import com.example.testtechnique.services.PooledIdAllocator;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Compares insert throughput of IDENTITY keys with the pooled ids the application uses, against a real database:
+ * Hibernate saveAll with an IDENTITY entity (one statement per row, key read back each time) as the baseline,
+ * saveAll with the id_sequences TableGenerator (JDBC batches), and PooledIdAllocator with JDBC batches as in
+ * StudentBatchWriter. Both pooled runs allocate from the same id_sequences row.
+ * Run with: mvn test -Dtest=IdAllocationBenchmarkTest -Did.benchmark=true
+ *   [-Did.benchmark.url=jdbc:mysql://localhost:3306/testtech?rewriteBatchedStatements=true]
+ *   [-Did.benchmark.user=root] [-Did.benchmark.password=] [-Did.benchmark.rows=20000]
+ */
+@EnabledIfSystemProperty(named = "id.benchmark", matches = "true")
+class IdAllocationBenchmarkTest {
+
+    private static final String SEQUENCE = "bench_pooled";
+
+    @Test
+    void compareIdStrategies() {
+        String url = System.getProperty("id.benchmark.url",
+                "jdbc:mysql://localhost:3306/testtech?rewriteBatchedStatements=true");
+        String user = System.getProperty("id.benchmark.user", "root");
+        String password = System.getProperty("id.benchmark.password", "");
+        int rows = Integer.getInteger("id.benchmark.rows", 20000);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, user, password);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // The tables are created here; the shared id_sequences table may already hold the application's rows
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_identity");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_pooled");
+        jdbcTemplate.execute("CREATE TABLE bench_identity (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE bench_pooled (id BIGINT PRIMARY KEY, username VARCHAR(50) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN
+                + " VARCHAR(255) NOT NULL PRIMARY KEY, " + IdSequences.VALUE_COLUMN + " BIGINT)");
+        jdbcTemplate.update("DELETE FROM " + IdSequences.TABLE + " WHERE " + IdSequences.NAME_COLUMN + " = ?", SEQUENCE);
+        jdbcTemplate.update("INSERT INTO " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN + ", "
+                + IdSequences.VALUE_COLUMN + ") VALUES (?, 1)", SEQUENCE);
+
+        try (SessionFactory sessionFactory = sessionFactory(url, user, password)) {
+            double identityRate = rows / saveAll(sessionFactory, BenchIdentityRow.class, rows, i -> {
+                BenchIdentityRow row = new BenchIdentityRow();
+                row.username = "identity" + i;
+                return row;
+            });
+            double generatorRate = rows / saveAll(sessionFactory, BenchPooledRow.class, rows, i -> {
+                BenchPooledRow row = new BenchPooledRow();
+                row.username = "generator" + i;
+                return row;
+            });
+            double allocatorRate = rows / allocatorInserts(dataSource, jdbcTemplate, rows);
+
+            System.out.printf("Inserted %d rows%n", rows);
+            System.out.printf("  IDENTITY, saveAll:                %10.0f rows/s%n", identityRate);
+            System.out.printf("  TableGenerator pooled-lo, saveAll: %9.0f rows/s%n", generatorRate);
+            System.out.printf("  PooledIdAllocator, JDBC batch %d: %10.0f rows/s%n", IdSequences.ALLOCATION_SIZE,
+                    allocatorRate);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE bench_identity");
+            jdbcTemplate.execute("DROP TABLE bench_pooled");
+            jdbcTemplate.update("DELETE FROM " + IdSequences.TABLE + " WHERE " + IdSequences.NAME_COLUMN + " = ?",
+                    SEQUENCE);
+        }
+    }
+
+    /**
+     * Same Hibernate settings as the application, without schema generation
+     */
+    private static SessionFactory sessionFactory(String url, String user, String password) {
+        return new Configuration()
+                .addAnnotatedClass(BenchIdentityRow.class)
+                .addAnnotatedClass(BenchPooledRow.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, user)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, password)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(IdSequences.ALLOCATION_SIZE))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    /**
+     * Seconds taken by SimpleJpaRepository.saveAll for the rows, in one transaction
+     */
+    private static <T> double saveAll(SessionFactory sessionFactory, Class<T> type, int rows, IntFunction<T> row) {
+        List<T> entities = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            entities.add(row.apply(i));
+        }
+        try (EntityManager entityManager = sessionFactory.createEntityManager()) {
+            SimpleJpaRepository<T, Long> repository = new SimpleJpaRepository<>(type, entityManager);
+            long start = System.nanoTime();
+            entityManager.getTransaction().begin();
+            repository.saveAll(entities);
+            entityManager.getTransaction().commit();
+            return (System.nanoTime() - start) / 1_000_000_000.0;
+        }
+    }
+
+    /**
+     * Seconds taken to insert the rows with ids from PooledIdAllocator in JDBC batches, as StudentBatchWriter does
+     */
+    private static double allocatorInserts(DriverManagerDataSource dataSource, JdbcTemplate jdbcTemplate, int rows) {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        PooledIdAllocator idAllocator = new PooledIdAllocator();
+        ReflectionTestUtils.setField(idAllocator, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(idAllocator, "transactionManager", transactionManager);
+        ReflectionTestUtils.invokeMethod(idAllocator, "init");
+
+        long start = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Object[]> batch = new ArrayList<>(IdSequences.ALLOCATION_SIZE);
+            for (int i = 0; i < rows; i++) {
+                batch.add(new Object[]{idAllocator.nextId(SEQUENCE), "allocator" + i});
+                if (batch.size() == IdSequences.ALLOCATION_SIZE || i == rows - 1) {
+                    jdbcTemplate.batchUpdate("INSERT INTO bench_pooled (id, username) VALUES (?, ?)", batch);
+                    batch.clear();
+                }
+            }
+        });
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+
+    @Entity
+    @Table(name = "bench_identity")
+    static class BenchIdentityRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        String username;
+    }
+
+    @Entity
+    @Table(name = "bench_pooled")
+    static class BenchPooledRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "bench_ids")
+        @TableGenerator(
+                name = "bench_ids",
+                table = IdSequences.TABLE,
+                pkColumnName = IdSequences.NAME_COLUMN,
+                valueColumnName = IdSequences.VALUE_COLUMN,
+                pkColumnValue = SEQUENCE,
+                allocationSize = IdSequences.ALLOCATION_SIZE
+        )
+        Long id;
+
+        String username;
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -26,6 +27,15 @@ class AdminServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private AdminTokenVersionService tokenVersionService;
+
+    @Mock
+    private AdminUserDetailsService userDetailsService;
+
+    @Spy
+    private UsernameFilters usernameFilters = new UsernameFilters();
+
     @InjectMocks
     private AdminService adminService;
 
@@ -58,6 +68,8 @@ class AdminServiceTest {
         verify(adminRepository, times(1)).existsByUsername(username);
         verify(passwordEncoder, times(1)).encode(password);
         verify(adminRepository, times(1)).save(any(Admin.class));
+        verify(userDetailsService, times(1)).evict(username);
+        verify(tokenVersionService, times(1)).register("testadmin", 0);
     }
 
     @Test
@@ -78,6 +90,33 @@ class AdminServiceTest {
         verify(adminRepository, never()).save(any(Admin.class));
     }
 
+    @Test
+    void testRevokeTokens_Success() {
+        // Given
+        when(adminRepository.incrementTokenVersion("testadmin")).thenReturn(1);
+
+        // When
+        adminService.revokeTokens("testadmin");
+
+        // Then
+        verify(adminRepository, times(1)).incrementTokenVersion("testadmin");
+        verify(tokenVersionService, times(1)).evict("testadmin");
+    }
+
+    @Test
+    void testRevokeTokens_NotFound() {
+        // Given
+        when(adminRepository.incrementTokenVersion("unknown")).thenReturn(0);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            adminService.revokeTokens("unknown");
+        });
+
+        assertEquals("Admin not found with username: unknown", exception.getMessage());
+        verify(tokenVersionService, never()).evict(anyString());
+    }
+
     @Test
     void testExistsByUsername_True() {
         // Given
@@ -0,0 +1,74 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Admin;
+import com.example.testtechnique.repository.AdminRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminTokenVersionServiceTest {
+
+    @Mock
+    private AdminRepository adminRepository;
+
+    @InjectMocks
+    private AdminTokenVersionService tokenVersionService;
+
+    @Test
+    void testRefresh_LoadsVersions() {
+        // Given
+        when(adminRepository.findAllBy()).thenReturn(List.of(view("testadmin", 3)));
+
+        // When
+        tokenVersionService.refresh();
+
+        // Then
+        assertTrue(tokenVersionService.isLoaded());
+        assertTrue(tokenVersionService.isCurrent("testadmin", 3));
+        verify(adminRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void testRefresh_DoesNotUndoRevokeCommittedDuringQuery() {
+        // Given: the revoke commits while the refresh query is running, which still returns the old version
+        when(adminRepository.findAllBy()).thenAnswer(invocation -> {
+            tokenVersionService.evict("testadmin");
+            return List.of(view("testadmin", 0));
+        });
+        Admin revoked = new Admin();
+        revoked.setUsername("testadmin");
+        revoked.setTokenVersion(1);
+        when(adminRepository.findByUsername("testadmin")).thenReturn(Optional.of(revoked));
+
+        // When
+        tokenVersionService.refresh();
+
+        // Then
+        assertFalse(tokenVersionService.isCurrent("testadmin", 0));
+        assertTrue(tokenVersionService.isCurrent("testadmin", 1));
+        verify(adminRepository, times(1)).findByUsername("testadmin");
+    }
+
+    private AdminRepository.TokenVersionView view(String username, int tokenVersion) {
+        return new AdminRepository.TokenVersionView() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public int getTokenVersion() {
+                return tokenVersion;
+            }
+        };
+    }
+}
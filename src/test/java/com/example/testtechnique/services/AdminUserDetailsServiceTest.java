@@ -0,0 +1,83 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Admin;
+import com.example.testtechnique.repository.AdminRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminUserDetailsServiceTest {
+
+    @Mock
+    private AdminRepository adminRepository;
+
+    @InjectMocks
+    private AdminUserDetailsService userDetailsService;
+
+    private Admin testAdmin;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userDetailsService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsService, "cacheTtlSeconds", 60L);
+        userDetailsService.initCache();
+
+        testAdmin = new Admin();
+        testAdmin.setId(1L);
+        testAdmin.setUsername("testadmin");
+        testAdmin.setPassword("encodedPassword");
+    }
+
+    @Test
+    void testLoadUserByUsername_CachesAdmin() {
+        // Given
+        when(adminRepository.findByUsername("testadmin")).thenReturn(Optional.of(testAdmin));
+
+        // When
+        UserDetails first = userDetailsService.loadUserByUsername("testadmin");
+        UserDetails second = userDetailsService.loadUserByUsername("testadmin");
+
+        // Then
+        assertEquals("encodedPassword", second.getPassword());
+        assertNotSame(first, second);
+        assertEquals(1, userDetailsService.cacheStats().hitCount());
+        verify(adminRepository, times(1)).findByUsername("testadmin");
+    }
+
+    @Test
+    void testLoadUserByUsername_NotFoundIsNotCached() {
+        // Given
+        when(adminRepository.findByUsername("unknown")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("unknown"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("unknown"));
+        verify(adminRepository, times(2)).findByUsername("unknown");
+    }
+
+    @Test
+    void testEvict_ReloadsAdmin() {
+        // Given
+        when(adminRepository.findByUsername("testadmin")).thenReturn(Optional.of(testAdmin));
+        userDetailsService.loadUserByUsername("testadmin");
+
+        // When
+        userDetailsService.evict("testadmin");
+        userDetailsService.loadUserByUsername("testadmin");
+
+        // Then
+        verify(adminRepository, times(2)).findByUsername("testadmin");
+    }
+}
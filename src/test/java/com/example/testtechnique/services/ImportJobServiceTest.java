@@ -0,0 +1,97 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.ImportJob;
+import com.example.testtechnique.entities.ImportJobStatus;
+import com.example.testtechnique.repository.ImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private StudentImportService studentImportService;
+
+    @InjectMocks
+    private ImportJobService importJobService;
+
+    @TempDir
+    Path jobDir;
+
+    private ImportJob job;
+    private Path upload;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(importJobService, "failedRetentionMs", 1000L);
+        upload = Files.writeString(jobDir.resolve("job.csv"), "username,level\nalice,BEGINNER\n");
+        job = new ImportJob();
+        job.setId("job-1");
+        job.setStoragePath(upload.toString());
+        job.setStatus(ImportJobStatus.PENDING);
+    }
+
+    @Test
+    void testRunPendingJobs_StopsWhenCheckpointFindsJobNoLongerRunning() throws Exception {
+        // Given: the job was failed as stale (and possibly resumed elsewhere) while this worker imported
+        when(importJobRepository.findByStatusOrderByCreatedAtAsc(ImportJobStatus.PENDING)).thenReturn(List.of(job));
+        when(importJobRepository.transition(eq("job-1"), eq(ImportJobStatus.PENDING), eq(ImportJobStatus.RUNNING), any()))
+                .thenReturn(1);
+        when(importJobRepository.checkpoint(eq("job-1"), eq(ImportJobStatus.RUNNING), anyLong(), anyLong(), anyLong(),
+                anyLong(), any())).thenReturn(0);
+        when(studentImportService.importStudents(any(), any(), anyLong(), any())).thenAnswer(invocation -> {
+            ImportResult totals = invocation.getArgument(1);
+            StudentImportService.ChunkListener listener = invocation.getArgument(3);
+            listener.afterChunk(totals, 1);
+            return totals;
+        });
+
+        // When
+        importJobService.runPendingJobs();
+
+        // Then
+        verify(importJobRepository, never()).finish(anyString(), any(), any(), any(), any());
+        assertTrue(Files.exists(upload));
+    }
+
+    @Test
+    void testExpireFailedJobs_DeletesUploadOnlyWhenStillFailed() {
+        // Given
+        job.setStatus(ImportJobStatus.FAILED);
+        ImportJob resumed = new ImportJob();
+        resumed.setId("job-2");
+        resumed.setStoragePath(jobDir.resolve("resumed.csv").toString());
+        when(importJobRepository.findByStatusAndFinishedAtBefore(eq(ImportJobStatus.FAILED), any(LocalDateTime.class)))
+                .thenReturn(List.of(job, resumed));
+        when(importJobRepository.finish(eq("job-1"), eq(ImportJobStatus.FAILED), eq(ImportJobStatus.EXPIRED), any(), any()))
+                .thenReturn(1);
+        when(importJobRepository.finish(eq("job-2"), eq(ImportJobStatus.FAILED), eq(ImportJobStatus.EXPIRED), any(), any()))
+                .thenReturn(0);
+
+        // When
+        importJobService.expireFailedJobs();
+
+        // Then
+        assertFalse(Files.exists(upload));
+    }
+}
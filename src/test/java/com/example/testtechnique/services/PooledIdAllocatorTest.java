@@ -0,0 +1,85 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.IdSequences;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PooledIdAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private PooledIdAllocator idAllocator;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idAllocator, "requiresNew", TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    void testNextId_HandsOutReservedBlockFromMemory() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(IdSequences.STUDENTS))).thenReturn(101L);
+        when(jdbcTemplate.update(anyString(), eq(151L), eq(IdSequences.STUDENTS), eq(101L))).thenReturn(1);
+
+        // When
+        long first = idAllocator.nextId(IdSequences.STUDENTS);
+        long last = 0;
+        for (int i = 1; i < IdSequences.ALLOCATION_SIZE; i++) {
+            last = idAllocator.nextId(IdSequences.STUDENTS);
+        }
+
+        // Then
+        assertEquals(101L, first);
+        assertEquals(150L, last);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), eq(IdSequences.STUDENTS));
+    }
+
+    @Test
+    void testNextId_ReservesNextBlockWhenExhausted() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(IdSequences.STUDENTS)))
+                .thenReturn(1L, 51L);
+        when(jdbcTemplate.update(anyString(), eq(51L), eq(IdSequences.STUDENTS), eq(1L))).thenReturn(1);
+        when(jdbcTemplate.update(anyString(), eq(101L), eq(IdSequences.STUDENTS), eq(51L))).thenReturn(1);
+
+        // When
+        long id = 0;
+        for (int i = 0; i <= IdSequences.ALLOCATION_SIZE; i++) {
+            id = idAllocator.nextId(IdSequences.STUDENTS);
+        }
+
+        // Then
+        assertEquals(51L, id);
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class), eq(IdSequences.STUDENTS));
+    }
+
+    @Test
+    void testNextId_RetriesWhenBlockTakenConcurrently() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(IdSequences.STUDENTS)))
+                .thenReturn(1L, 51L);
+        when(jdbcTemplate.update(anyString(), eq(51L), eq(IdSequences.STUDENTS), eq(1L))).thenReturn(0);
+        when(jdbcTemplate.update(anyString(), eq(101L), eq(IdSequences.STUDENTS), eq(51L))).thenReturn(1);
+
+        // When
+        long id = idAllocator.nextId(IdSequences.STUDENTS);
+
+        // Then
+        assertEquals(51L, id);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentBatchServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private StudentStatsService studentStatsService;
+
+    @Spy
+    private StudentCache studentCache = StudentCacheTest.newCache(100);
+
+    @Spy
+    private UsernameFilters usernameFilters = new UsernameFilters();
+
+    @InjectMocks
+    private StudentBatchService studentBatchService;
+
+    private Student existing;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentBatchService, "transactionOperations", TransactionOperations.withoutTransaction());
+        ReflectionTestUtils.setField(studentBatchService, "maxOperations", 10);
+        existing = new Student(1L, "alice", Level.BEGINNER, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    void testExecute_AppliesMixedOperationsWithOneLookupEach() {
+        // Given
+        Student other = new Student(2L, "bob", Level.ADVANCED, LocalDateTime.now(), LocalDateTime.now());
+        when(studentRepository.findAllById(anyCollection())).thenReturn(List.of(existing, other));
+        when(studentRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("Alice"));
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Student> students = new ArrayList<>(invocation.<Collection<Student>>getArgument(0));
+            long id = 10;
+            for (Student student : students) {
+                if (student.getId() == null) {
+                    student.setId(id++);
+                }
+            }
+            return students;
+        });
+
+        // When
+        StudentBatchResult result = studentBatchService.execute(List.of(
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "carol", Level.INTERMEDIATE),
+                new StudentBatchOperation(StudentBatchOperation.Type.UPDATE, 1L, "alice", Level.ADVANCED),
+                new StudentBatchOperation(StudentBatchOperation.Type.DELETE, 2L, null, null)
+        ), BatchMode.ALL_OR_NOTHING);
+
+        // Then
+        assertTrue(result.committed());
+        assertEquals(3, result.succeeded());
+        assertEquals(201, result.results().get(0).status());
+        assertEquals(10L, result.results().get(0).id());
+        assertEquals(200, result.results().get(1).status());
+        assertEquals(204, result.results().get(2).status());
+        assertEquals(Level.ADVANCED, existing.getLevel());
+        verify(studentRepository, times(1)).findAllById(anyCollection());
+        verify(studentRepository, times(1)).findExistingUsernames(anyCollection());
+        verify(studentRepository, never()).existsByUsername(anyString());
+        verify(studentRepository).deleteAll(List.of(other));
+        verify(studentRepository).flush();
+    }
+
+    @Test
+    void testExecute_AllOrNothingRollsBackOnFailure() {
+        // Given
+        when(studentRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(studentRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("alice"));
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StudentBatchResult result = studentBatchService.execute(List.of(
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "dave", Level.BEGINNER),
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "ALICE", Level.BEGINNER),
+                new StudentBatchOperation(StudentBatchOperation.Type.DELETE, 99L, null, null)
+        ), BatchMode.ALL_OR_NOTHING);
+
+        // Then
+        assertFalse(result.committed());
+        assertEquals(0, result.succeeded());
+        assertEquals(424, result.results().get(0).status());
+        assertEquals(409, result.results().get(1).status());
+        assertEquals(404, result.results().get(2).status());
+    }
+
+    @Test
+    void testExecute_BestEffortKeepsValidOperations() {
+        // Given
+        when(studentRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(studentRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StudentBatchResult result = studentBatchService.execute(List.of(
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "erin", Level.ADVANCED),
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "Erin", Level.ADVANCED),
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "x", Level.ADVANCED)
+        ), BatchMode.BEST_EFFORT);
+
+        // Then
+        assertTrue(result.committed());
+        assertEquals(1, result.succeeded());
+        assertEquals(2, result.failed());
+        assertEquals(409, result.results().get(1).status());
+        assertEquals(400, result.results().get(2).status());
+    }
+
+    @Test
+    void testExecute_BestEffortIsolatesConstraintViolationAtFlush() {
+        // Given: "frank" was created on another node, so the lookup misses it and only the flush fails
+        Student other = new Student(2L, "bob", Level.ADVANCED, LocalDateTime.now(), LocalDateTime.now());
+        when(studentRepository.findAllById(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).contains(2L) ? List.of(other) : List.of());
+        when(studentRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        List<String> pending = new ArrayList<>();
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            students.forEach(student -> pending.add(student.getUsername()));
+            return students;
+        });
+        doAnswer(invocation -> {
+            boolean duplicate = pending.contains("frank");
+            pending.clear();
+            if (duplicate) {
+                throw new DataIntegrityViolationException("Duplicate entry 'frank'");
+            }
+            return null;
+        }).when(studentRepository).flush();
+
+        // When
+        StudentBatchResult result = studentBatchService.execute(List.of(
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "grace", Level.BEGINNER),
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "frank", Level.BEGINNER),
+                new StudentBatchOperation(StudentBatchOperation.Type.DELETE, 2L, null, null),
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "x", Level.BEGINNER),
+                new StudentBatchOperation(StudentBatchOperation.Type.DELETE, 99L, null, null)
+        ), BatchMode.BEST_EFFORT);
+
+        // Then
+        assertTrue(result.committed());
+        assertEquals(2, result.succeeded());
+        assertEquals(201, result.results().get(0).status());
+        assertEquals(409, result.results().get(1).status());
+        assertEquals(1, result.results().get(1).index());
+        assertEquals(204, result.results().get(2).status());
+        assertEquals(400, result.results().get(3).status());
+        assertEquals(404, result.results().get(4).status());
+    }
+
+    @Test
+    void testExecute_UsernameTakenOnAnotherNodeOnlyFailsItsOperation() {
+        // Given: the filter was loaded before "frank" was created on another node, so it rules "frank" out
+        usernameFilters.students().rebuild(100, 0.01, add -> add.accept("alice"));
+        when(studentRepository.findAllById(anyCollection())).thenReturn(List.of());
+        List<String> saved = new ArrayList<>();
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            students.forEach(student -> saved.add(student.getUsername()));
+            return students;
+        });
+        doAnswer(invocation -> {
+            boolean duplicate = saved.contains("frank");
+            saved.clear();
+            if (duplicate) {
+                throw new DataIntegrityViolationException("Duplicate entry 'frank'");
+            }
+            return null;
+        }).when(studentRepository).flush();
+
+        // When
+        StudentBatchResult result = studentBatchService.execute(List.of(
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "frank", Level.BEGINNER),
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "grace", Level.BEGINNER)
+        ), BatchMode.BEST_EFFORT);
+
+        // Then
+        verify(studentRepository, never()).findExistingUsernames(anyCollection());
+        assertEquals(409, result.results().get(0).status());
+        assertEquals(201, result.results().get(1).status());
+        assertTrue(usernameFilters.students().mightContain("frank"));
+    }
+
+    @Test
+    void testExecute_AllOrNothingReportsOnlyTheTakenUsernameAsConflict() {
+        // Given
+        when(studentRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(studentRepository.findExistingUsernames(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("Frank"));
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new DataIntegrityViolationException("Duplicate entry 'frank'")).when(studentRepository).flush();
+
+        // When
+        StudentBatchResult result = studentBatchService.execute(List.of(
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "grace", Level.BEGINNER),
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "frank", Level.BEGINNER),
+                new StudentBatchOperation(StudentBatchOperation.Type.CREATE, null, "x", Level.BEGINNER)
+        ), BatchMode.ALL_OR_NOTHING);
+
+        // Then
+        assertFalse(result.committed());
+        assertEquals(424, result.results().get(0).status());
+        assertEquals(409, result.results().get(1).status());
+        assertEquals(400, result.results().get(2).status());
+    }
+
+    @Test
+    void testExecute_RejectsOversizedBatch() {
+        // Given
+        List<StudentBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            operations.add(new StudentBatchOperation(StudentBatchOperation.Type.DELETE, (long) i, null, null));
+        }
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> studentBatchService.execute(operations, BatchMode.BEST_EFFORT));
+        assertEquals("Batch exceeds the maximum of 10 operations", exception.getMessage());
+        verifyNoInteractions(studentRepository);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentCacheTest {
+
+    private StudentCache studentCache;
+    private Student stored;
+    private AtomicInteger loads;
+
+    static StudentCache newCache(long maxSize) {
+        StudentCache cache = new StudentCache();
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        cache.init();
+        return cache;
+    }
+
+    @BeforeEach
+    void setUp() {
+        studentCache = newCache(100);
+        stored = new Student(1L, "teststudent", Level.BEGINNER, null, null);
+        loads = new AtomicInteger();
+    }
+
+    private Optional<Student> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(new Student(stored.getId(), stored.getUsername(), stored.getLevel(), null, null));
+    }
+
+    @Test
+    void testGet_ServesCopiesFromCache() {
+        // When
+        Student first = studentCache.get(1L, this::load).orElseThrow();
+        first.setLevel(Level.ADVANCED);
+        Student second = studentCache.get(1L, this::load).orElseThrow();
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(Level.BEGINNER, second.getLevel());
+        assertEquals(1, studentCache.stats().hitCount());
+    }
+
+    @Test
+    void testEvict_NextReadSeesCommittedWrite() {
+        // Given
+        studentCache.get(1L, this::load);
+
+        // When
+        stored.setUsername("renamed");
+        stored.setLevel(Level.INTERMEDIATE);
+        studentCache.evict(1L);
+        Student result = studentCache.get(1L, this::load).orElseThrow();
+
+        // Then
+        assertEquals("renamed", result.getUsername());
+        assertEquals(Level.INTERMEDIATE, result.getLevel());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_LoadRacingWithWriteIsNotCached() {
+        // Given: the write commits while an older row is being loaded
+        Student staleRow = new Student(1L, "teststudent", Level.BEGINNER, null, null);
+
+        // When
+        studentCache.get(1L, id -> {
+            stored.setLevel(Level.ADVANCED);
+            studentCache.evict(id);
+            return Optional.of(staleRow);
+        });
+        Student result = studentCache.get(1L, this::load).orElseThrow();
+
+        // Then
+        assertEquals(Level.ADVANCED, result.getLevel());
+    }
+
+    @Test
+    void testGet_MissingStudentNotCached() {
+        // When
+        studentCache.get(2L, id -> Optional.empty());
+        Optional<Student> result = studentCache.get(2L, this::load);
+
+        // Then
+        assertTrue(result.isPresent());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTripsTypedSortValue() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000);
+        StudentCursor cursor = new StudentCursor("createdAt", Sort.Direction.DESC, true, 42L, createdAt);
+
+        // When
+        StudentCursor decoded = StudentCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+        KeysetScrollPosition position = (KeysetScrollPosition) decoded.toScrollPosition();
+        assertTrue(position.scrollsBackward());
+        assertEquals(Map.of("createdAt", createdAt, "id", 42L), position.getKeys());
+    }
+
+    @Test
+    void testAt_ReadsKeysFromWindowPosition() {
+        // Given
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("level", Level.ADVANCED);
+        keys.put("id", 7L);
+
+        // When
+        StudentCursor cursor = StudentCursor.at(ScrollPosition.forward(keys), "level", Sort.Direction.ASC, false);
+
+        // Then
+        assertEquals(new StudentCursor("level", Sort.Direction.ASC, false, 7L, Level.ADVANCED), StudentCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testDecode_RejectsGarbage() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> StudentCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> StudentCursor.checkSortable("password"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentImportServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private StudentBatchWriter batchWriter;
+
+    @Spy
+    private UsernameFilters usernameFilters = new UsernameFilters();
+
+    @InjectMocks
+    private StudentImportService studentImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(studentImportService, "transactionOperations", TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    void testImportStudents_DeduplicatesFileAndDatabase() throws Exception {
+        // Given
+        String csv = "username,level\n"
+                + "alice,BEGINNER\n"
+                + "bob,advanced\n"
+                + "ALICE,INTERMEDIATE\n"
+                + "carol,EXPERT\n"
+                + "dave,BEGINNER\n";
+        when(studentRepository.findExistingUsernames(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> usernames = invocation.getArgument(0);
+            return usernames.contains("bob") ? List.of("Bob") : List.of();
+        });
+        when(batchWriter.insertBatch(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        ImportResult result = studentImportService.importStudents(toStream(csv));
+
+        // Then
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getSkipped());
+        assertEquals(1, result.getFailed());
+        verify(studentRepository, times(2)).findExistingUsernames(anyCollection());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Student>> batches = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter, times(2)).insertBatch(batches.capture());
+        assertEquals("alice", batches.getAllValues().get(0).get(0).getUsername());
+        assertEquals(Level.BEGINNER, batches.getAllValues().get(1).get(0).getLevel());
+    }
+
+    @Test
+    void testImportStudents_FallsBackToRowInsertsOnConflict() throws Exception {
+        // Given
+        String csv = "username,level\nalice,BEGINNER\nbob,ADVANCED\n";
+        when(studentRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(batchWriter.insertBatch(anyList())).thenThrow(new DuplicateKeyException("Duplicate entry"));
+        when(batchWriter.insertEach(anyList())).thenReturn(1);
+
+        // When
+        ImportResult result = studentImportService.importStudents(toStream(csv));
+
+        // Then
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getSkipped());
+        verify(batchWriter, times(1)).insertEach(anyList());
+    }
+
+    @Test
+    void testImportStudents_FailsOverlongUsernamesAndIgnoresShortRows() throws Exception {
+        // Given
+        String csv = "username,level\n"
+                + "a".repeat(51) + ",BEGINNER\n"
+                + " ,BEGINNER\n"
+                + "orphan\n"
+                + "bob,ADVANCED\n";
+        when(studentRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(batchWriter.insertBatch(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        ImportResult result = studentImportService.importStudents(toStream(csv));
+
+        // Then
+        assertEquals(1, result.getImported());
+        assertEquals(0, result.getSkipped());
+        assertEquals(2, result.getFailed());
+    }
+
+    @Test
+    void testImportStudents_FallsBackToRowInsertsOnConstraintViolation() throws Exception {
+        // Given
+        String csv = "username,level\nalice,BEGINNER\nbob,ADVANCED\n";
+        when(studentRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(batchWriter.insertBatch(anyList())).thenThrow(new DataIntegrityViolationException("Data too long"));
+        when(batchWriter.insertEach(anyList())).thenReturn(1);
+
+        // When
+        ImportResult result = studentImportService.importStudents(toStream(csv));
+
+        // Then
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getSkipped());
+        verify(batchWriter, times(1)).insertEach(anyList());
+    }
+
+    @Test
+    void testImportStudents_HeaderOnly() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            studentImportService.importStudents(toStream("username,level"));
+        });
+
+        assertEquals("Invalid CSV format", exception.getMessage());
+        verify(batchWriter, never()).insertBatch(any());
+    }
+
+    private InputStream toStream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testImportStudents_ResumesAfterCheckpoint() throws Exception {
+        // Given
+        String csv = "username,level\nalice,BEGINNER\nbob,ADVANCED\n\nalice,BEGINNER\ncarol,INTERMEDIATE\n";
+        when(studentRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(batchWriter.insertBatch(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        List<Long> checkpoints = new ArrayList<>();
+
+        // When
+        ImportResult result = studentImportService.importStudents(toStream(csv), new ImportResult(2, 0, 0), 2,
+                (totals, linesCommitted) -> checkpoints.add(linesCommitted));
+
+        // Then
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getSkipped());
+        assertEquals(List.of(5L), checkpoints);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Student>> batch = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter, times(1)).insertBatch(batch.capture());
+        assertEquals("carol", batch.getValue().get(0).getUsername());
+    }
+}
@@ -2,25 +2,39 @@ package com.example.testtechnique.services;
 
 import com.example.testtechnique.entities.Level;
 import com.example.testtechnique.entities.Student;
+import com.example.testtechnique.exceptions.DuplicateUsernameException;
 import com.example.testtechnique.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +43,24 @@ class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UsernameTrigramIndex usernameIndex;
+
+    @Mock
+    private StudentStatsService studentStatsService;
+
+    @Spy
+    private StudentCache studentCache = StudentCacheTest.newCache(100);
+
+    @Spy
+    private UsernameFilters usernameFilters = new UsernameFilters();
+
+    @Spy
+    private StudentTableVersions tableVersions = new StudentTableVersions();
+
     @InjectMocks
     private StudentService studentService;
 
@@ -78,6 +110,25 @@ class StudentServiceTest {
         verify(studentRepository, times(1)).findById(id);
     }
 
+    @Test
+    void testGetStudentById_FreshAfterUpdate() {
+        // Given
+        Long id = 1L;
+        when(studentRepository.findById(id)).thenReturn(Optional.of(testStudent));
+        when(studentRepository.existsByUsername("renamed")).thenReturn(false);
+        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertEquals(Level.BEGINNER, studentService.getStudentById(id).orElseThrow().getLevel());
+
+        // When
+        studentService.updateStudent(id, new Student(null, "renamed", Level.ADVANCED, null, null));
+        Student result = studentService.getStudentById(id).orElseThrow();
+
+        // Then
+        assertEquals("renamed", result.getUsername());
+        assertEquals(Level.ADVANCED, result.getLevel());
+        verify(studentCache, times(1)).evict(id);
+    }
+
     @Test
     void testGetStudentById_NotFound() {
         // Given
@@ -127,10 +178,49 @@ class StudentServiceTest {
         });
 
         assertEquals("Username already exists", exception.getMessage());
+        assertInstanceOf(DuplicateUsernameException.class, exception);
+        assertEquals(0, exception.getStackTrace().length);
         verify(studentRepository, times(1)).existsByUsername("existingstudent");
         verify(studentRepository, never()).save(any(Student.class));
     }
 
+    @Test
+    void testCreateStudent_FilterSkipsExistenceQuery() {
+        // Given
+        usernameFilters.students().rebuild(100, 0.01, add -> add.accept("alice"));
+        Student newStudent = new Student();
+        newStudent.setUsername("newstudent");
+        newStudent.setLevel(Level.INTERMEDIATE);
+        when(studentRepository.saveAndFlush(newStudent)).thenReturn(newStudent);
+
+        // When
+        studentService.createStudent(newStudent);
+
+        // Then
+        verify(studentRepository, never()).existsByUsername(anyString());
+        verify(studentRepository, times(1)).saveAndFlush(newStudent);
+        assertTrue(usernameFilters.students().mightContain("NewStudent"));
+        assertEquals(1, usernameFilters.students().stats().skippedLookups());
+    }
+
+    @Test
+    void testCreateStudent_UniqueConstraintDecidesWhenQuerySkipped() {
+        // Given
+        usernameFilters.students().rebuild(100, 0.01, add -> add.accept("alice"));
+        Student newStudent = new Student();
+        newStudent.setUsername("takenelsewhere");
+        newStudent.setLevel(Level.BEGINNER);
+        when(studentRepository.saveAndFlush(newStudent))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            studentService.createStudent(newStudent);
+        });
+
+        assertEquals("Username already exists", exception.getMessage());
+    }
+
     @Test
     void testUpdateStudent_Success() {
         // Given
@@ -189,6 +279,21 @@ class StudentServiceTest {
         verify(studentRepository, times(1)).deleteById(id);
     }
 
+    @Test
+    void testDeleteStudent_UpdatesStats() {
+        // Given
+        Long id = 1L;
+        when(studentRepository.existsById(id)).thenReturn(true);
+        when(studentRepository.findById(id)).thenReturn(Optional.of(testStudent));
+
+        // When
+        studentService.deleteStudent(id);
+
+        // Then
+        verify(studentRepository, times(1)).deleteById(id);
+        verify(studentStatsService, times(1)).recordDeleted(Level.BEGINNER, null);
+    }
+
     @Test
     void testDeleteStudent_NotFound() {
         // Given
@@ -223,6 +328,180 @@ class StudentServiceTest {
         verify(studentRepository, times(1)).searchStudents(searchTerm, pageable);
     }
 
+    @Test
+    void testSearchStudents_FromIndex() {
+        // Given
+        ReflectionTestUtils.setField(studentService, "searchMode", StudentSearchMode.INDEX);
+        Student other = new Student();
+        other.setId(2L);
+        other.setUsername("teststudent2");
+        other.setLevel(Level.ADVANCED);
+        when(usernameIndex.search("test", null, pageable))
+                .thenReturn(Optional.of(new PageImpl<>(List.of(2L, 1L), pageable, 2)));
+        when(studentRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testStudent, other));
+
+        // When
+        Page<Student> result = studentService.searchStudents("test", pageable);
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2L, result.getContent().get(0).getId());
+        assertEquals(1L, result.getContent().get(1).getId());
+        verify(studentRepository, never()).searchStudents(anyString(), any());
+    }
+
+    @Test
+    void testSearchStudents_IndexNotReadyFallsBackToDatabase() {
+        // Given
+        ReflectionTestUtils.setField(studentService, "searchMode", StudentSearchMode.INDEX);
+        Page<Student> studentPage = new PageImpl<>(List.of(testStudent), pageable, 1);
+        when(usernameIndex.search("test", null, pageable)).thenReturn(Optional.empty());
+        when(studentRepository.searchStudents("test", pageable)).thenReturn(studentPage);
+
+        // When
+        Page<Student> result = studentService.searchStudents("test", pageable);
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        verify(studentRepository, times(1)).searchStudents("test", pageable);
+    }
+
+    @Test
+    void testSearchStudents_FullTextKeepsRequestedSort() {
+        // Given
+        ReflectionTestUtils.setField(studentService, "searchMode", StudentSearchMode.FULLTEXT);
+        ReflectionTestUtils.setField(studentService, "ngramTokenSize", 2);
+        Pageable sorted = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable columns = PageRequest.of(1, 10, Sort.by(Sort.Order.desc("created_at"), Sort.Order.asc("id")));
+        Page<Student> studentPage = new PageImpl<>(List.of(testStudent), columns, 11);
+        when(studentRepository.fullTextSearch("\"test\"", columns)).thenReturn(studentPage);
+
+        // When
+        Page<Student> result = studentService.searchStudents("te\"st", sorted);
+
+        // Then
+        assertEquals(11, result.getTotalElements());
+        verify(studentRepository, never()).searchStudents(anyString(), any());
+    }
+
+    @Test
+    void testSearchStudents_FullTextUnsortedOrdersByRelevance() {
+        // Given
+        ReflectionTestUtils.setField(studentService, "searchMode", StudentSearchMode.FULLTEXT);
+        ReflectionTestUtils.setField(studentService, "ngramTokenSize", 2);
+        Page<Student> studentPage = new PageImpl<>(List.of(testStudent), pageable, 1);
+        when(studentRepository.fullTextSearchByRelevance("\"test\"", pageable)).thenReturn(studentPage);
+
+        // When
+        Page<Student> result = studentService.searchStudents("test", pageable);
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertTrue(studentService.ranksByRelevance("test"));
+        verify(studentRepository, never()).fullTextSearch(anyString(), any());
+        verify(studentRepository, never()).searchStudents(anyString(), any());
+    }
+
+    @Test
+    void testSearchStudents_FullTextIdTermUsesLikeQuery() {
+        // Given
+        ReflectionTestUtils.setField(studentService, "searchMode", StudentSearchMode.FULLTEXT);
+        ReflectionTestUtils.setField(studentService, "ngramTokenSize", 2);
+        Page<Student> studentPage = new PageImpl<>(List.of(testStudent), pageable, 1);
+        when(studentRepository.searchStudents("12", pageable)).thenReturn(studentPage);
+
+        // When
+        Page<Student> result = studentService.searchStudents("12", pageable);
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        verify(studentRepository, never()).fullTextSearch(anyString(), any());
+    }
+
+    @Test
+    void testSliceStudents_SkipsCount() {
+        // Given
+        Slice<Student> slice = new SliceImpl<>(List.of(testStudent), pageable, true);
+        when(studentRepository.searchStudentsByLevelSlice("test", Level.BEGINNER, pageable)).thenReturn(slice);
+
+        // When
+        Slice<Student> result = studentService.sliceStudents("test", Level.BEGINNER, pageable);
+
+        // Then
+        assertTrue(result.hasNext());
+        verify(studentRepository, never()).countSearchStudentsByLevel(anyString(), any());
+    }
+
+    @Test
+    void testPageStudentsApproximate_CachesCountPerFilter() {
+        // Given
+        ReflectionTestUtils.setField(studentService, "countCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(studentService, "countCacheTtlSeconds", 30L);
+        ReflectionTestUtils.invokeMethod(studentService, "initCountCache");
+        Slice<Student> slice = new SliceImpl<>(List.of(testStudent), pageable, true);
+        when(studentRepository.searchStudentsSlice(anyString(), eq(pageable))).thenReturn(slice);
+        when(studentRepository.countSearchStudents("Test")).thenReturn(25L);
+
+        // When
+        Page<Student> first = studentService.pageStudentsApproximate("Test", null, pageable);
+        Page<Student> second = studentService.pageStudentsApproximate("test", null, pageable);
+
+        // Then
+        assertEquals(25, first.getTotalElements());
+        assertEquals(25, second.getTotalElements());
+        verify(studentRepository, times(1)).countSearchStudents(anyString());
+    }
+
+    @Test
+    void testGetTableVersion_ChangesAfterWriteWithoutQuery() {
+        // Given
+        StudentTableVersion before = studentService.getTableVersion();
+
+        // When
+        tableVersions.changed();
+        StudentTableVersion after = studentService.getTableVersion();
+
+        // Then
+        assertEquals(before.epoch(), after.epoch());
+        assertNotEquals(before.version(), after.version());
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    void testProjectStudents_CountsExactTotal() {
+        // Given
+        List<String> fields = List.of("id", "username");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("username", "teststudent");
+        when(studentRepository.findProjected(any(), eq(fields), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+        when(studentRepository.count(ArgumentMatchers.<Specification<Student>>any())).thenReturn(1L);
+
+        // When
+        Slice<Map<String, Object>> result = studentService.projectStudents(fields, "test", null, pageable, CountMode.EXACT);
+
+        // Then
+        assertInstanceOf(Page.class, result);
+        assertEquals(1, ((Page<Map<String, Object>>) result).getTotalElements());
+        assertEquals(Map.of("id", 1L, "username", "teststudent"), result.getContent().get(0));
+    }
+
+    @Test
+    void testProjectStudents_NoCountSkipsCountQuery() {
+        // Given
+        List<String> fields = List.of("username");
+        when(studentRepository.findProjected(any(), eq(fields), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(Map.of("username", "teststudent")), pageable, true));
+
+        // When
+        Slice<Map<String, Object>> result = studentService.projectStudents(fields, null, Level.BEGINNER, pageable, CountMode.NONE);
+
+        // Then
+        assertTrue(result.hasNext());
+        verify(studentRepository, never()).count(ArgumentMatchers.<Specification<Student>>any());
+    }
+
     @Test
     void testFilterStudentsByLevel_Success() {
         // Given
@@ -242,19 +521,29 @@ class StudentServiceTest {
     }
 
     @Test
-    void testGetAllStudentsForExport_Success() {
+    void testScrollStudents_RejectsCursorFromOtherDirection() {
+        // Given
+        StudentCursor cursor = new StudentCursor("createdAt", Sort.Direction.DESC, false, 42L,
+                testStudent.getCreatedAt());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> studentService.scrollStudents(null, null, "createdAt", Sort.Direction.ASC, cursor, 10));
+        verify(studentRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testGetStudentsForExport_DetachesChunk() {
         // Given
         List<Student> students = Arrays.asList(testStudent);
-        when(studentRepository.findAllByOrderByIdAsc()).thenReturn(students);
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(students);
 
         // When
-        List<Student> result = studentService.getAllStudentsForExport();
+        List<Student> result = studentService.getStudentsForExport(0L, 500);
 
         // Then
-        assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("teststudent", result.get(0).getUsername());
-        verify(studentRepository, times(1)).findAllByOrderByIdAsc();
+        verify(studentRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
+        verify(entityManager, times(1)).detach(testStudent);
     }
 }
-
@@ -0,0 +1,91 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentStatsServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Spy
+    private StudentTableVersions tableVersions = new StudentTableVersions();
+
+    @InjectMocks
+    private StudentStatsService studentStatsService;
+
+    @Test
+    void testRecord_AdjustsCounters() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        studentStatsService.recordCreated(Level.BEGINNER, now);
+        studentStatsService.recordCreated(Level.BEGINNER, now.minusHours(3));
+        studentStatsService.recordCreated(Level.ADVANCED, now.minusDays(2));
+        studentStatsService.recordLevelChanged(Level.BEGINNER, Level.INTERMEDIATE);
+        studentStatsService.recordDeleted(Level.ADVANCED, now.minusDays(2));
+        StudentStats stats = studentStatsService.getStats();
+
+        // Then
+        assertEquals(2, stats.total());
+        assertEquals(1L, stats.byLevel().get(Level.BEGINNER));
+        assertEquals(1L, stats.byLevel().get(Level.INTERMEDIATE));
+        assertEquals(0L, stats.byLevel().get(Level.ADVANCED));
+        assertEquals(1, stats.createdLastHour());
+        assertEquals(2, stats.createdLast24Hours());
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    void testReconcile_ReplacesCountersFromDatabase() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        studentStatsService.recordCreated(Level.BEGINNER, now);
+        when(studentRepository.countGroupedByLevel()).thenReturn(List.of(levelCount(Level.ADVANCED, 7)));
+        List<Object[]> hours = new ArrayList<>();
+        hours.add(new Object[]{now.getYear(), now.getMonthValue(), now.getDayOfMonth(), now.getHour(), 4L});
+        when(studentRepository.countCreatedPerHourSince(any(LocalDateTime.class))).thenReturn(hours);
+
+        // When
+        studentStatsService.reconcile();
+        StudentStats stats = studentStatsService.getStats();
+
+        // Then
+        assertEquals(7, stats.total());
+        assertEquals(0L, stats.byLevel().get(Level.BEGINNER));
+        assertEquals(4, stats.createdLastHour());
+        assertEquals(4, stats.createdLast24Hours());
+        assertNotNull(stats.reconciledAt());
+        assertEquals(1, tableVersions.current().version());
+    }
+
+    private static StudentRepository.LevelCountView levelCount(Level level, long total) {
+        return new StudentRepository.LevelCountView() {
+            @Override
+            public Level getLevel() {
+                return level;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.testtechnique.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsernameBloomFilterTest {
+
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        // Given
+        UsernameBloomFilter filter = new UsernameBloomFilter(10_000, 0.01);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("student" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("student" + i));
+        }
+        assertEquals(10_000, filter.insertions(), 5);
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRateNearTarget() {
+        // Given
+        UsernameBloomFilter filter = new UsernameBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("student" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertTrue(filter.estimatedFpp() < 0.02);
+        assertTrue(filter.memoryBytes() > 0 && filter.memoryBytes() < 16 * 1024);
+    }
+
+    @Test
+    void testRebuild_KeepsUsernamesAddedWhileLoading() {
+        // Given
+        UsernameFilter usernames = new UsernameFilter();
+        assertTrue(usernames.mightContain("anyone"));
+
+        // When
+        usernames.rebuild(100, 0.01, add -> {
+            add.accept("alice");
+            usernames.put("Bob");
+        });
+
+        // Then
+        assertTrue(usernames.isReady());
+        assertTrue(usernames.mightContain("ALICE"));
+        assertTrue(usernames.mightContain("bob"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.testtechnique.services;
+
+import com.example.testtechnique.entities.Level;
+import com.example.testtechnique.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameTrigramIndexTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @InjectMocks
+    private UsernameTrigramIndex usernameIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(usernameIndex, "loadChunkSize", 2);
+        when(studentRepository.findSearchIndexChunk(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(view(1L, "Alice", Level.BEGINNER), view(2L, "malik", Level.ADVANCED)));
+        when(studentRepository.findSearchIndexChunk(eq(2L), any(Limit.class)))
+                .thenReturn(List.of(view(12L, "bob", Level.BEGINNER)));
+        usernameIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_MatchesUsernameSubstringIgnoringCase() {
+        // When
+        Page<Long> result = usernameIndex.search("LIC", null, PageRequest.of(0, 10, Sort.by("id"))).orElseThrow();
+
+        // Then
+        assertEquals(List.of(1L), result.getContent());
+    }
+
+    @Test
+    void testSearch_ShortTermAndIdMatches() {
+        // When
+        Page<Long> byName = usernameIndex.search("li", null, PageRequest.of(0, 10, Sort.by("id"))).orElseThrow();
+        Page<Long> byId = usernameIndex.search("2", null, PageRequest.of(0, 10, Sort.by("id"))).orElseThrow();
+
+        // Then
+        assertEquals(List.of(1L, 2L), byName.getContent());
+        assertEquals(List.of(2L, 12L), byId.getContent());
+    }
+
+    @Test
+    void testSearch_LevelFilterSortAndPage() {
+        // When
+        Page<Long> result = usernameIndex.search("b", Level.BEGINNER,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "username"))).orElseThrow();
+
+        // Then
+        assertEquals(List.of(12L), result.getContent());
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void testSearch_UnsupportedSortFallsBack() {
+        // When
+        Optional<Page<Long>> result = usernameIndex.search("ali", null, PageRequest.of(0, 10, Sort.by("createdAt")));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testPutAndRemove_UpdatePostings() {
+        // When
+        usernameIndex.put(1L, "zed", Level.BEGINNER);
+        usernameIndex.remove(2L);
+
+        // Then
+        assertTrue(usernameIndex.search("ali", null, PageRequest.of(0, 10)).orElseThrow().isEmpty());
+        assertEquals(List.of(1L), usernameIndex.search("zed", null, PageRequest.of(0, 10)).orElseThrow().getContent());
+    }
+
+    private static StudentRepository.SearchIndexView view(Long id, String username, Level level) {
+        return new StudentRepository.SearchIndexView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public Level getLevel() {
+                return level;
+            }
+        };
+    }
+}